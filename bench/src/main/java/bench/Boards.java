@@ -0,0 +1,43 @@
+package bench;
+
+import entity.Snake;
+
+/**
+ * Builds snakes of any length for the benchmarks. The snake follows a Hamiltonian cycle over the
+ * board (right along even rows, left along odd rows, back up column 0), so it can grow to almost
+ * the whole board and keep moving forever without hitting itself or a wall.
+ */
+final class Boards {
+
+    private Boards() {
+    }
+
+    /** Snake of the given length laid along the cycle on a cols x rows board (rows must be even). */
+    static Snake snake(int cols, int rows, int length) {
+        if (rows % 2 != 0) throw new IllegalArgumentException("rows must be even");
+        if (length >= cols * rows) throw new IllegalArgumentException("snake doesn't fit: " + length);
+
+        Snake snake = new Snake(cols, rows);
+        // starts as (1,1)-(1,3) heading down; after three steps the whole body is on the cycle
+        snake.setDirection(Snake.Direction.DOWN);
+        snake.move();
+        for (int i = 0; i < 3 || snake.size() < length; i++) {
+            if (snake.size() < length) snake.grow();
+            step(snake, cols, rows);
+        }
+        return snake;
+    }
+
+    /** Turns the snake along the cycle and moves it one cell. */
+    static void step(Snake snake, int cols, int rows) {
+        snake.setDirection(next(snake.xAt(0), snake.yAt(0), cols, rows));
+        snake.move();
+    }
+
+    private static Snake.Direction next(int x, int y, int cols, int rows) {
+        if (x == 0) return y > 0 ? Snake.Direction.UP : Snake.Direction.RIGHT;
+        if (y % 2 == 0) return x < cols - 1 ? Snake.Direction.RIGHT : Snake.Direction.DOWN;
+        if (y == rows - 1 || x > 1) return Snake.Direction.LEFT;
+        return Snake.Direction.DOWN;
+    }
+}
@@ -0,0 +1,44 @@
+package bench;
+
+import entity.CollisionHandler;
+import entity.Food;
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** CollisionHandler.check() after each move, on an open board and with walls, snake up to 100k cells. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    static final int COLS = 512, ROWS = 256;
+
+    @Param({"3", "100", "10000", "100000"})
+    int length;
+
+    @Param({"false", "true"})
+    boolean wrap;
+
+    final CollisionHandler collisions = new CollisionHandler();
+    final Food food = new Food();
+    boolean[][] walls;
+    Snake snake;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snake = Boards.snake(COLS, ROWS, length);
+        walls = new boolean[COLS][ROWS];   // empty, but checked like the real level
+        food.setPosition(COLS / 2, ROWS / 2);
+    }
+
+    @Benchmark
+    public CollisionHandler.Result moveAndCheck() {
+        Boards.step(snake, COLS, ROWS);
+        return collisions.check(snake, food, walls, wrap, COLS, ROWS);
+    }
+}
@@ -0,0 +1,35 @@
+package bench;
+
+import engine.FileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileManager.addScore(): ranking the score and appending it to the score journal (writes,
+ * fsyncs and snapshots happen on the ScoreJournal thread). Run from a scratch working directory
+ * (the bench profile does this), it writes the files there.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileManagerBenchmark {
+
+    FileManager files;
+    int score;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        files = new FileManager();
+        files.clearHighScores();
+    }
+
+    @Benchmark
+    public boolean addScore() {
+        score = (score + 7) % 100;   // mix of scores that do and don't make the table
+        return files.addScore("BENCH", score);
+    }
+}
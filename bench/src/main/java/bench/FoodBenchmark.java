@@ -0,0 +1,48 @@
+package bench;
+
+import entity.Food;
+import entity.FreeCellIndex;
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Food.respawn() as the board fills up: the rejection-sampling/scan version against the
+ * FreeCellIndex version, with the snake covering fill of a 64 x 64 board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoodBenchmark {
+
+    static final int COLS = 64, ROWS = 64;
+
+    @Param({"0.01", "0.5", "0.9", "0.99"})
+    double fill;
+
+    final Food food = new Food(new SplittableRandom(42));
+    Snake snake;
+    FreeCellIndex freeCells;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snake = Boards.snake(COLS, ROWS, Math.max(3, (int) (fill * COLS * ROWS)));
+        freeCells = new FreeCellIndex(null, COLS, ROWS);
+        snake.attach(freeCells);
+    }
+
+    @Benchmark
+    public boolean scan() {
+        return food.respawn(null, snake, COLS, ROWS);
+    }
+
+    @Benchmark
+    public boolean index() {
+        return food.respawn(freeCells);
+    }
+}
@@ -0,0 +1,56 @@
+package bench;
+
+import engine.Leaderboard;
+import entity.Score;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Leaderboard queries and inserts with up to a few million scores on the board. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LeaderboardBenchmark {
+
+    @Param({"10000", "3000000"})
+    int entries;
+
+    final SplittableRandom rng = new SplittableRandom(1);
+    Leaderboard board;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new Leaderboard();
+        for (int i = 0; i < entries; i++) board.add(new Score("P" + (i % 100_000), score(), i));
+    }
+
+    // roughly how foods eaten are spread: most games end early
+    private int score() {
+        return (int) Math.min(Leaderboard.MAX_SCORE, -40 * Math.log(1 - rng.nextDouble()));
+    }
+
+    @Benchmark
+    public void add() {
+        board.add(new Score("NEW", score(), 0));
+    }
+
+    @Benchmark
+    public int rank() {
+        return board.rank(score());
+    }
+
+    @Benchmark
+    public List<Score> top10() {
+        return board.top(10);
+    }
+
+    @Benchmark
+    public List<Score> pageAroundPlayer() {
+        return board.pageAround("P" + rng.nextInt(100_000), 10);
+    }
+}
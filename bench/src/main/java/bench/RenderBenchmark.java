@@ -0,0 +1,48 @@
+package bench;
+
+import engine.Core;
+import engine.FileManager;
+import engine.InputManager;
+import engine.SoundManager;
+import engine.StateMachine;
+import org.openjdk.jmh.annotations.*;
+import screen.GameScreen;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/** GameScreen.render() of a running game into an offscreen image, as the game loop draws it. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    GameScreen screen;
+    BufferedImage image;
+    Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Core core = new Core();
+        screen = new GameScreen(core, new StateMachine(), new InputManager(core), new FileManager(), new SoundManager());
+        screen.onEnter();
+        image = new BufferedImage(Core.WIDTH, Core.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+        screen.onExit();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        screen.render(g);
+        return image;
+    }
+}
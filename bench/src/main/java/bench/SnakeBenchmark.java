@@ -0,0 +1,43 @@
+package bench;
+
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Snake.move() and reverse() from a 3-cell snake up to 100k cells (grow(): SnakeGrowBenchmark). */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeBenchmark {
+
+    // 512 x 256 board = 131072 cells, room for the longest snake
+    static final int COLS = 512, ROWS = 256;
+
+    @Param({"3", "100", "10000", "100000"})
+    int length;
+
+    Snake snake;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snake = Boards.snake(COLS, ROWS, length);
+    }
+
+    /** One game step: steer along the cycle and move. */
+    @Benchmark
+    public Snake move() {
+        Boards.step(snake, COLS, ROWS);
+        return snake;
+    }
+
+    /** Head and tail swap places; two calls restore the snake, so the length never changes. */
+    @Benchmark
+    public Snake reverse() {
+        snake.reverse();
+        return snake;
+    }
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eating: Snake.grow() plus the move that unfolds the new tail. Growing changes the length, so this
+ * runs as timed batches of GROWS on a fresh snake each iteration (score = time per batch). The
+ * snake is built in the iteration setup, which -prof gc counts too: Alloc is per batch, setup included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = SnakeGrowBenchmark.GROWS)
+@Measurement(iterations = 100, batchSize = SnakeGrowBenchmark.GROWS)
+@Fork(1)
+public class SnakeGrowBenchmark {
+
+    static final int GROWS = 1_000;
+
+    // SnakeBenchmark's board plus 16 rows, so the longest snake still has room for GROWS more cells
+    static final int COLS = SnakeBenchmark.COLS, ROWS = SnakeBenchmark.ROWS + 16;
+
+    @Param({"3", "100", "10000", "100000"})
+    int length;
+
+    Snake snake;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        snake = Boards.snake(COLS, ROWS, length);
+    }
+
+    @Benchmark
+    public Snake grow() {
+        snake.grow();
+        Boards.step(snake, COLS, ROWS);
+        return snake;
+    }
+}
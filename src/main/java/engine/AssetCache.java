@@ -0,0 +1,128 @@
+package engine;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide image cache. Every file is decoded once, then converted once per requested
+ * size into an image compatible with the screen (pre-scaled with nearest neighbour, so pixel
+ * art stays crisp and drawImage(img, x, y, null) hits the fast copy path with no scaling).
+ *
+ * Safe to call from several threads (the preloader warms it in parallel).
+ */
+public final class AssetCache {
+
+    private static final Map<String, BufferedImage> decoded = new ConcurrentHashMap<>();
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    private AssetCache() { }
+
+    /** Image at its natural size, in a display-compatible format. */
+    public static BufferedImage get(String path) {
+        return images.computeIfAbsent(path, k -> toCompatible(decode(path), -1, -1));
+    }
+
+    /** Image scaled to exactly width x height, in a display-compatible format. */
+    public static BufferedImage get(String path, int width, int height) {
+        return images.computeIfAbsent(path + "@" + width + "x" + height,
+                k -> toCompatible(decode(path), width, height));
+    }
+
+    /** Decodes the file now (e.g. on a loader thread) so later get() calls only convert/scale. */
+    public static void preload(String path) {
+        decode(path);
+    }
+
+    /** Bytes held per cached image (key is path, or path@WxH for scaled copies), sorted by key. */
+    public static Map<String, Long> memoryUsage() {
+        Map<String, Long> usage = new TreeMap<>();
+        for (Map.Entry<String, BufferedImage> e : images.entrySet()) usage.put(e.getKey(), bytesOf(e.getValue()));
+        for (Map.Entry<String, BufferedImage> e : decoded.entrySet()) usage.put(e.getKey() + " (decoded)", bytesOf(e.getValue()));
+        return usage;
+    }
+
+    /** Total bytes of pixel data held by the cache. */
+    public static long totalBytes() {
+        long total = 0;
+        for (long b : memoryUsage().values()) total += b;
+        return total;
+    }
+
+    /** One line per cached image plus a total, for logs and debug output. */
+    public static String memoryReport() {
+        List<String> lines = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Long> e : memoryUsage().entrySet()) {
+            lines.add(String.format("%-48s %8.1f KB", e.getKey(), e.getValue() / 1024.0));
+            total += e.getValue();
+        }
+        lines.add(String.format("%-48s %8.1f KB", "total", total / 1024.0));
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    /** Drops everything (e.g. after a display change made the cached formats stale). */
+    public static void clear() {
+        images.clear();
+        decoded.clear();
+    }
+
+    private static BufferedImage decode(String path) {
+        return decoded.computeIfAbsent(path, k -> {
+            try {
+                BufferedImage img = ImageIO.read(new File(path));
+                if (img == null) throw new IOException("unsupported image format");
+                return img;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load sprite: " + path, e);
+            }
+        });
+    }
+
+    // copies src into a screen-compatible image, scaling with nearest neighbour when a size is given
+    private static BufferedImage toCompatible(BufferedImage src, int width, int height) {
+        int w = width > 0 ? width : src.getWidth();
+        int h = height > 0 ? height : src.getHeight();
+        int transparency = src.getColorModel().getTransparency();
+
+        BufferedImage dst;
+        GraphicsConfiguration gc = screenConfiguration();
+        if (gc != null) {
+            dst = gc.createCompatibleImage(w, h, transparency);
+        } else {
+            dst = new BufferedImage(w, h, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private static GraphicsConfiguration screenConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    private static long bytesOf(BufferedImage img) {
+        return (long) img.getWidth() * img.getHeight() * Math.max(1, img.getColorModel().getPixelSize() / 8);
+    }
+}
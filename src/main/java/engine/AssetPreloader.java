@@ -0,0 +1,92 @@
+package engine;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads assets on a small bounded pool of daemon threads while the first screen is already up.
+ * Tasks run in submission order, so whatever is submitted first (the menu's assets) is ready first.
+ * progress() reports the share of submitted tasks that have finished.
+ */
+public final class AssetPreloader {
+
+    private final ExecutorService pool;
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    public AssetPreloader() {
+        this(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+
+    public AssetPreloader(int threads) {
+        AtomicInteger n = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "AssetLoader-" + n.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1); // stay out of the way of the game loop
+            return t;
+        });
+    }
+
+    /** Runs a task on the pool. Failures are logged and still count as finished. */
+    public CompletableFuture<Void> submit(String name, Runnable task) {
+        return supply(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /** Computes a value on the pool (e.g. builds a screen whose constructor loads its assets). */
+    public <T> CompletableFuture<T> supply(String name, Supplier<T> task) {
+        submitted.incrementAndGet();
+        CompletableFuture<T> f = CompletableFuture.supplyAsync(task, pool);
+        f.whenComplete((v, e) -> {
+            if (e != null) System.err.println("[AssetPreloader] " + name + " failed: " + e.getMessage());
+            finished.incrementAndGet();
+        });
+        return f;
+    }
+
+    /** Decodes each image into AssetCache as its own task, so files decode in parallel. */
+    public CompletableFuture<Void> images(String... paths) {
+        CompletableFuture<?>[] all = new CompletableFuture<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            String path = paths[i];
+            all[i] = submit(path, () -> AssetCache.preload(path));
+        }
+        return CompletableFuture.allOf(all);
+    }
+
+    /** Queues every image file in the given directories (files already cached are skipped quickly). */
+    public CompletableFuture<Void> imagesIn(String... dirs) {
+        return images(Arrays.stream(dirs)
+                .map(File::new)
+                .map(File::listFiles)
+                .filter(files -> files != null)
+                .flatMap(Arrays::stream)
+                .map(File::getPath)
+                .filter(p -> p.endsWith(".png") || p.endsWith(".jpg"))
+                .sorted()
+                .toArray(String[]::new));
+    }
+
+    /** 0..1 share of submitted work that has finished (1 when nothing is pending). */
+    public double progress() {
+        int total = submitted.get();
+        return total == 0 ? 1.0 : (double) finished.get() / total;
+    }
+
+    public boolean isDone() {
+        return finished.get() >= submitted.get();
+    }
+
+    /** No more submissions; queued tasks still run, then the threads exit. */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
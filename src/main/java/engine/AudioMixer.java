@@ -0,0 +1,428 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Software mixer: all sounds play through one SourceDataLine fed by one audio thread.
+ *
+ * Sounds are registered once (converted to 44.1 kHz 16-bit stereo and kept in memory). The game
+ * thread then sends play/loop/stop commands through a bounded lock-free ring of packed longs, so
+ * triggering a sound is a CAS and an array write - no lines, no locks, no allocation. The audio
+ * thread drains the ring at the start of every block, mixes the active voices with their gains and
+ * writes the block to the line.
+ *
+ * Music is different: tracks are streamed from memory-mapped WAV files (see MusicTrack), loop
+ * seamlessly and crossfade into each other on two music slots, so a long track costs no heap.
+ *
+ * The line buffer (see constructor) sets the latency: a command is heard at most one buffer later.
+ * Smaller buffers respond faster but underrun (crackle) sooner if the audio thread is starved.
+ */
+public final class AudioMixer {
+
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    public static final int DEFAULT_BUFFER_MS = 40;
+
+    private static final int VOICES = 16;
+    private static final int COMMANDS = 256;
+
+    // command = op | sound << 8 | fade millis << 20 | float bits of linear gain << 32
+    private static final int PLAY = 1, LOOP = 2, RESTART = 3, STOP = 4, STOP_ALL = 5, MUSIC = 6, MUSIC_STOP = 7;
+    private static final int MAX_FADE_MS = 0xFFF;
+
+    private final int bufferFrames;
+    private final int blockFrames;
+    private final LongRing commands = new LongRing(COMMANDS);
+
+    // registered sounds, copy-on-write so the audio thread can read them without locking
+    private volatile short[][] sounds = new short[0][];
+    private volatile int[] voiceLimits = new int[0];
+    private volatile MusicTrack[] tracks = new MusicTrack[0];
+
+    // voices, owned by the audio thread (or whoever calls render())
+    private final int[] voiceSound = new int[VOICES];
+    private final int[] voicePos = new int[VOICES];      // index into the sound's samples
+    private final float[] voiceGain = new float[VOICES];
+    private final boolean[] voiceLoop = new boolean[VOICES];
+    private final long[] voiceStarted = new long[VOICES];
+    private long starts;
+
+    // music: the current track plus the one fading out under it
+    private final int[] musicTrack = { -1, -1 };
+    private final double[] musicPos = new double[2];     // source frame, fractional when resampling
+    private final float[] musicGain = new float[2];
+    private final float[] musicLevel = new float[2];     // fade level 0..1
+    private final float[] musicFadeStep = new float[2];  // level change per output frame
+    private int currentMusic;
+
+    private final int[] mix;
+    private final byte[] block;
+
+    private SourceDataLine line;
+    private Thread thread;
+    private volatile boolean running;
+
+    /** @param bufferMillis line buffer length; the mixer writes half of it per block */
+    public AudioMixer(int bufferMillis) {
+        bufferFrames = Math.max(256, (int) (FORMAT.getSampleRate() * bufferMillis / 1000));
+        blockFrames = bufferFrames / 2;
+        mix = new int[blockFrames * 2];
+        block = new byte[blockFrames * FORMAT.getFrameSize()];
+        Arrays.fill(voiceSound, -1);
+    }
+
+    /** Builds a mixer with the "audio_buffer_ms" setting. */
+    public static AudioMixer fromSettings(FileManager files) {
+        int millis;
+        try {
+            millis = Integer.parseInt(files.getSetting("audio_buffer_ms", String.valueOf(DEFAULT_BUFFER_MS)).trim());
+        } catch (NumberFormatException e) {
+            millis = DEFAULT_BUFFER_MS;
+        }
+        return new AudioMixer(millis);
+    }
+
+    /**
+     * Registers interleaved 44.1 kHz stereo samples; returns the sound id used by play/loop/stop.
+     * At most maxVoices copies of the sound play at once - starting another cuts the oldest.
+     */
+    public synchronized int register(short[] stereo, int maxVoices) {
+        short[][] s = Arrays.copyOf(sounds, sounds.length + 1);
+        int[] limits = Arrays.copyOf(voiceLimits, voiceLimits.length + 1);
+        s[s.length - 1] = stereo;
+        limits[limits.length - 1] = Math.max(1, maxVoices);
+        voiceLimits = limits;
+        sounds = s;
+        return s.length - 1;
+    }
+
+    /** Registers a decoded sample, converted to the mixer format and cut to maxSeconds (<= 0 = all). */
+    int register(PcmSample sample, int maxVoices, double maxSeconds) {
+        return register(toMixerFormat(sample, maxSeconds), maxVoices);
+    }
+
+    /** Registers a 16-bit PCM WAV file for streaming with playMusic(); -1 if it can't be streamed. */
+    public int registerMusic(Path wavFile) {
+        MusicTrack track = MusicTrack.open(wavFile);
+        return track == null ? -1 : registerMusic(track);
+    }
+
+    synchronized int registerMusic(MusicTrack track) {
+        MusicTrack[] t = Arrays.copyOf(tracks, tracks.length + 1);
+        t[t.length - 1] = track;
+        tracks = t;
+        return t.length - 1;
+    }
+
+    // ---- commands (any thread; false if the queue is full and the command was dropped) ----
+
+    /** Plays the sound once at the given gain (dB, 0 = unchanged). */
+    public boolean play(int sound, float gainDb) {
+        return send(PLAY, sound, gainDb);
+    }
+
+    /** Plays the sound looping until stop(). */
+    public boolean loop(int sound, float gainDb) {
+        return send(LOOP, sound, gainDb);
+    }
+
+    /** Stops every voice of the sound, then plays it once (no overlap). */
+    public boolean restart(int sound, float gainDb) {
+        return send(RESTART, sound, gainDb);
+    }
+
+    /** Stops every voice playing the sound. */
+    public boolean stop(int sound) {
+        return send(STOP, sound, 0f);
+    }
+
+    public boolean stopAll() {
+        return send(STOP_ALL, 0, 0f);
+    }
+
+    /**
+     * Starts a music track from the beginning, looping. Whatever music was playing fades out over
+     * fadeMillis while the new track fades in (0 = cut over immediately).
+     */
+    public boolean playMusic(int track, float gainDb, int fadeMillis) {
+        return send(MUSIC, track, fadeMillis, gainDb);
+    }
+
+    /** Fades the music out over fadeMillis (0 = stop immediately). */
+    public boolean stopMusic(int fadeMillis) {
+        return send(MUSIC_STOP, 0, fadeMillis, 0f);
+    }
+
+    // ---- output ----
+
+    /** Opens the line and starts the audio thread. False if no line is available (stays silent). */
+    public synchronized boolean start() {
+        if (running) return true;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, bufferFrames * FORMAT.getFrameSize());
+            line.start();
+        } catch (Exception e) {
+            System.out.println("[AudioMixer] No audio output: " + e.getMessage());
+            line = null;
+            return false;
+        }
+        running = true;
+        thread = new Thread(this::runAudio, "AudioMixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops the audio thread and releases the line. */
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        line.stop();
+        line.close();
+        line = null;
+    }
+
+    /** Latency added by the line buffer, in milliseconds. */
+    public int getBufferMillis() {
+        return (int) (bufferFrames * 1000L / (long) FORMAT.getSampleRate());
+    }
+
+    /**
+     * Applies pending commands and mixes the next frames into out (16-bit little-endian stereo).
+     * The audio thread calls this for every block; without a line it can drive the mixer directly.
+     */
+    public void render(byte[] out, int frames) {
+        applyCommands();
+        short[][] s = sounds;
+        MusicTrack[] t = tracks;
+
+        for (int done = 0; done < frames; ) {
+            int n = Math.min(blockFrames, frames - done);
+            mixVoices(s, n);
+            mixMusic(t, 0, n);
+            mixMusic(t, 1, n);
+
+            int o = done * 4;
+            for (int i = 0; i < n * 2; i++) {
+                int v = mix[i];
+                if (v > Short.MAX_VALUE) v = Short.MAX_VALUE;
+                else if (v < Short.MIN_VALUE) v = Short.MIN_VALUE;
+                out[o++] = (byte) v;
+                out[o++] = (byte) (v >> 8);
+            }
+            done += n;
+        }
+    }
+
+    // ---------------- internals ----------------
+
+    private void runAudio() {
+        while (running) {
+            render(block, blockFrames);
+            line.write(block, 0, block.length); // blocks until the line has room: this paces the thread
+        }
+    }
+
+    private boolean send(int op, int sound, float gainDb) {
+        return send(op, sound, 0, gainDb);
+    }
+
+    private boolean send(int op, int sound, int fadeMillis, float gainDb) {
+        float gain = gainDb == 0f ? 1f : (float) Math.pow(10, gainDb / 20.0);
+        int fade = Math.max(0, Math.min(MAX_FADE_MS, fadeMillis));
+        return commands.offer(op | (long) (sound & 0xFFF) << 8 | (long) fade << 20
+                | (long) Float.floatToRawIntBits(gain) << 32);
+    }
+
+    private void applyCommands() {
+        while (commands.hasNext()) {
+            long c = commands.poll();
+            int op = (int) c & 0xFF;
+            int sound = (int) (c >>> 8) & 0xFFF;
+            int fade = (int) (c >>> 20) & 0xFFF;
+            float gain = Float.intBitsToFloat((int) (c >>> 32));
+
+            switch (op) {
+                case PLAY:     startVoice(sound, gain, false); break;
+                case LOOP:     startVoice(sound, gain, true);  break;
+                case RESTART:  stopVoices(sound); startVoice(sound, gain, false); break;
+                case STOP:     stopVoices(sound); break;
+                case STOP_ALL: Arrays.fill(voiceSound, -1); break;
+                case MUSIC:    startMusic(sound, gain, fadeFrames(fade)); break;
+                case MUSIC_STOP: fadeOut(currentMusic, fadeFrames(fade)); break;
+                default: break;
+            }
+        }
+    }
+
+    private void startVoice(int sound, float gain, boolean loop) {
+        int[] limits = voiceLimits;
+        if (sound >= limits.length) return;
+
+        // the sound's own oldest voice if it is at its limit, else a free voice, else the oldest overall
+        int playing = 0, oldestOfSound = -1, free = -1, oldest = 0;
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceSound[v] == sound) {
+                playing++;
+                if (oldestOfSound < 0 || voiceStarted[v] < voiceStarted[oldestOfSound]) oldestOfSound = v;
+            }
+            if (voiceSound[v] < 0) {
+                if (free < 0) free = v;
+            } else if (voiceStarted[v] < voiceStarted[oldest]) {
+                oldest = v;
+            }
+        }
+        int v = playing >= limits[sound] ? oldestOfSound : free >= 0 ? free : oldest;
+
+        voiceSound[v] = sound;
+        voicePos[v] = 0;
+        voiceGain[v] = gain;
+        voiceLoop[v] = loop;
+        voiceStarted[v] = ++starts;
+    }
+
+    // the new track takes the other slot (cutting off anything still fading out there)
+    private void startMusic(int track, float gain, int fadeFrames) {
+        if (track >= tracks.length) return;
+        fadeOut(currentMusic, fadeFrames);
+
+        int slot = 1 - currentMusic;
+        musicTrack[slot] = track;
+        musicPos[slot] = 0;
+        musicGain[slot] = gain;
+        musicLevel[slot] = fadeFrames == 0 ? 1f : 0f;
+        musicFadeStep[slot] = fadeFrames == 0 ? 0f : 1f / fadeFrames;
+        currentMusic = slot;
+    }
+
+    private void fadeOut(int slot, int fadeFrames) {
+        if (musicTrack[slot] < 0) return;
+        if (fadeFrames == 0) musicTrack[slot] = -1;
+        else musicFadeStep[slot] = -1f / fadeFrames;
+    }
+
+    private static int fadeFrames(int millis) {
+        return (int) (FORMAT.getSampleRate() * millis / 1000);
+    }
+
+    private void stopVoices(int sound) {
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceSound[v] == sound) voiceSound[v] = -1;
+        }
+    }
+
+    private void mixVoices(short[][] s, int frames) {
+        int samples = frames * 2;
+        Arrays.fill(mix, 0, samples, 0);
+
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceSound[v] < 0) continue;
+            short[] data = s[voiceSound[v]];
+            float gain = voiceGain[v];
+            int pos = voicePos[v];
+
+            for (int i = 0; i < samples; i++) {
+                if (pos >= data.length) {
+                    if (!voiceLoop[v] || data.length == 0) {
+                        voiceSound[v] = -1;
+                        break;
+                    }
+                    pos = 0;
+                }
+                mix[i] += (int) (data[pos++] * gain);
+            }
+            voicePos[v] = pos;
+        }
+    }
+
+    // streams one music slot into the mix: linear resampling, wraps to the start at the end (seamless loop)
+    private void mixMusic(MusicTrack[] t, int slot, int frames) {
+        if (musicTrack[slot] < 0) return;
+        MusicTrack track = t[musicTrack[slot]];
+        if (track.frames == 0) {
+            musicTrack[slot] = -1;
+            return;
+        }
+
+        double step = track.sampleRate / FORMAT.getSampleRate();
+        double pos = musicPos[slot];
+        float gain = musicGain[slot], level = musicLevel[slot], fadeStep = musicFadeStep[slot];
+
+        for (int i = 0; i < frames; i++) {
+            if (fadeStep != 0f) {
+                level += fadeStep;
+                if (level >= 1f) {
+                    level = 1f;
+                    fadeStep = 0f;
+                } else if (level <= 0f) {
+                    musicTrack[slot] = -1;   // faded out
+                    break;
+                }
+            }
+
+            int i0 = (int) pos;
+            int i1 = i0 + 1 < track.frames ? i0 + 1 : 0;
+            float frac = (float) (pos - i0);
+            float g = gain * level;
+            for (int ch = 0; ch < 2; ch++) {
+                int a = track.sample(i0, ch);
+                int b = track.sample(i1, ch);
+                mix[i * 2 + ch] += (int) ((a + (b - a) * frac) * g);
+            }
+
+            pos += step;
+            if (pos >= track.frames) pos -= track.frames;
+        }
+
+        musicPos[slot] = pos;
+        musicLevel[slot] = level;
+        musicFadeStep[slot] = fadeStep;
+    }
+
+    // 16-bit PCM at any rate, mono or stereo -> interleaved 44.1 kHz stereo (linear interpolation)
+    private static short[] toMixerFormat(PcmSample sample, double maxSeconds) {
+        AudioFormat f = sample.format;
+        int channels = f.getChannels();
+        boolean bigEndian = f.isBigEndian();
+        int srcFrames = sample.frames();
+        double step = f.getSampleRate() / FORMAT.getSampleRate();   // source frames per output frame
+
+        int frames = (int) (srcFrames / step);
+        if (maxSeconds > 0) frames = (int) Math.min(frames, maxSeconds * FORMAT.getSampleRate());
+
+        short[] out = new short[frames * 2];
+        for (int i = 0; i < frames; i++) {
+            double src = i * step;
+            int i0 = (int) src;
+            int i1 = Math.min(i0 + 1, srcFrames - 1);
+            double t = src - i0;
+            for (int ch = 0; ch < 2; ch++) {
+                int c = Math.min(ch, channels - 1);          // mono feeds both sides
+                int a = sampleAt(sample.data, (i0 * channels + c) * 2, bigEndian);
+                int b = sampleAt(sample.data, (i1 * channels + c) * 2, bigEndian);
+                out[i * 2 + ch] = (short) Math.round(a + (b - a) * t);
+            }
+        }
+        return out;
+    }
+
+    private static int sampleAt(byte[] data, int offset, boolean bigEndian) {
+        return bigEndian
+                ? (short) ((data[offset] << 8) | (data[offset + 1] & 0xFF))
+                : (short) ((data[offset + 1] << 8) | (data[offset] & 0xFF));
+    }
+}
@@ -0,0 +1,46 @@
+package engine;
+
+import engine.sim.BatchResult;
+import engine.sim.BatchSimulator;
+
+/**
+ * Headless entry point (next to Core.main) for tuning runs: plays a batch of seeded
+ * bot games across all cores and prints throughput and the score distribution.
+ *
+ * Usage: java engine.BatchMain [games=100000] [threads=N] [seed=1] [flip=0.2]
+ *                              [cols=18] [rows=13] [maxSteps=20000]
+ */
+public final class BatchMain {
+
+    private BatchMain() { }
+
+    public static void main(String[] args) {
+        int games = 100_000;
+        BatchSimulator sim = new BatchSimulator();
+        int cols = 18, rows = 13;
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                System.err.println("ignoring argument (expected key=value): " + arg);
+                continue;
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "games":    games = Integer.parseInt(value); break;
+                case "threads":  sim.parallelism(Integer.parseInt(value)); break;
+                case "seed":     sim.seed(Long.parseLong(value)); break;
+                case "flip":     sim.flipChance(Double.parseDouble(value)); break;
+                case "cols":     cols = Integer.parseInt(value); break;
+                case "rows":     rows = Integer.parseInt(value); break;
+                case "maxSteps": sim.maxSteps(Integer.parseInt(value)); break;
+                default: System.err.println("unknown option: " + key);
+            }
+        }
+        sim.board(cols, rows, false);
+
+        BatchResult result = sim.run(games);
+        System.out.print(result.format());
+    }
+}
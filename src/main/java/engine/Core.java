@@ -9,26 +9,55 @@ import screen.HighScoreScreen;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferStrategy;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class Core extends Canvas implements Runnable {
 
     public static final int WIDTH = 864, HEIGHT = 624;
     private static final double FIXED_DT = 1.0 / 60.0;
+    private static final int MAX_STEPS_PER_FRAME = 8;   // further behind than this (a stall): drop the rest
 
     // ---- State & subsystems (owned by other roles, just referenced here) ----
     private final StateMachine states = new StateMachine();
-    private Screen menuScreen, gameScreen, gameOverScreen, highScoreScreen;   // (chloe)
+    private Screen menuScreen;                                                 // (chloe)
+    private Screen gameScreen, gameOverScreen, highScoreScreen;               // resolved on first entry
+    private CompletableFuture<Screen> gameLoad, gameOverLoad, highScoreLoad;   // built in the background
+    private final AssetPreloader preloader = new AssetPreloader();
 
     private final InputManager input = new InputManager(this); // (melih)
-    private final SoundManager sound = new SoundManager(); // (ashley)
-    private final FileManager files = new FileManager(); // (dami)
+    private final FileManager files; // (dami)
+    private final SoundManager sound; // (ashley)
+
+    private final InputLatency latency = new InputLatency();
+
+    // transitions may be requested from any thread (AWT mouse listeners, timers, ...); they are
+    // queued here and applied by the game loop between steps, so onExit/onEnter and the state
+    // change never race with update()/render(). Command = request time << 8 | target state.
+    private static final GameStates[] STATES = GameStates.values();
+    private static final int TOGGLE_PAUSE = 0xFF;
+    private final LongRing transitions = new LongRing(64);
+    private final Histogram transitionLatency = new Histogram();
+    private final long epoch = System.nanoTime();
+
+    private final FrameStats stats = new FrameStats();
+    private final DebugOverlay debug = new DebugOverlay(latency, transitionLatency, stats);
 
     private JFrame frame;
     private volatile boolean running = false;
+    private FramePacer pacer;
 
     public static void main(String[] args) { new Core().start(); }
 
     public Core() {
+        this(new FileManager());
+    }
+
+    /** Saves scores and settings through the given FileManager */
+    public Core(FileManager files) {
+        this.files = files;
+        this.sound = new SoundManager(files);
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setIgnoreRepaint(true);
         setFocusable(true);      // required on some systems
@@ -48,6 +77,9 @@ public class Core extends Canvas implements Runnable {
         requestFocus(); // ensure keyboard focus
         requestFocusInWindow();  // helps ensure input grabs focus
 
+        pacer = FramePacer.fromSettings(files);
+        Runtime.getRuntime().addShutdownHook(new Thread(files::close, "SaveOnExit")); // pending saves hit the disk
+        stats.register(); // frame timings over JMX
         initScreens(); // initialising screens
 
         new Thread(this, "GameLoop").start();
@@ -55,16 +87,30 @@ public class Core extends Canvas implements Runnable {
 
     // screen constructors to register within the state machine
     private void initScreens() {
+        // menu first: its images decode in parallel on the loader pool while we build it here,
+        // the rest of the assets and screens keep loading after the first menu frame is up
+        preloader.images("resources/backgrounds/front.jpg", "resources/sprites/button.png");
+        preloader.submit("fonts", () -> FontRegistry.preload(FontRegistry.ALAGARD));
+        preloader.imagesIn("resources/sprites", "resources/backgrounds");
+        preloader.submit("sounds", sound::preload);
+
+        gameLoad = preloader.supply("GameScreen", () -> new GameScreen(this, states, input, files, sound));
+        gameOverLoad = preloader.supply("GameOverScreen", () -> new GameOverScreen(this, states));
+        highScoreLoad = preloader.supply("HighScoreScreen", () -> new HighScoreScreen(this, states, files));
+        preloader.shutdown(); // nothing more to queue; loader threads exit once done
+
         menuScreen = new MenuScreen(this, states, files);
-        gameScreen = new GameScreen(this, states, input, files, sound);
-        gameOverScreen = new GameOverScreen(this, states);
-        highScoreScreen = new HighScoreScreen(this, states, files);
 
         // state machine initial state
         states.set(GameStates.MENU);
         menuScreen.onEnter();
     }
 
+    /** 0..1 share of startup assets loaded so far. */
+    public double getLoadProgress() {
+        return preloader.progress();
+    }
+
     @Override
     public void run() {
         createBufferStrategy(2);
@@ -79,30 +125,66 @@ public class Core extends Canvas implements Runnable {
             prev = now;
             acc += dt;
 
-            // run all fixed-step updates
-            while (acc >= FIXED_DT) {
+            // run all fixed-step updates (pending transitions are applied before each step and before rendering)
+            int steps = 0;
+            while (acc >= FIXED_DT && steps < MAX_STEPS_PER_FRAME) {
+                applyTransitions();
                 currentScreen().update(FIXED_DT); // drive current screen logic
                 acc -= FIXED_DT;
+                steps++;
+            }
+            long dropped = (long) (acc / FIXED_DT);
+            acc -= dropped * FIXED_DT;
+            stats.updated(states.get(), steps, dropped, System.nanoTime() - now);
+            applyTransitions();
+
+            if (input.consumeDebugToggled()) {
+                debug.toggle();
+                pacer.requestRender();
             }
 
-            input.poll(); // (melih) - enabled by chloe so controls work
-
-            do {
+            // static screens are only redrawn when something changed (see FramePacer)
+            if (pacer.shouldRender(currentScreen().isAnimating(), now)) {
+                long renderNanos = 0, showNanos = 0;
                 do {
-                    Graphics2D g = (Graphics2D) bs.getDrawGraphics();
-                    g.setColor(Color.BLACK);
-                    g.fillRect(0, 0, WIDTH, HEIGHT);
-
-                    currentScreen().render(g); // draw current screen
+                    long t0 = System.nanoTime();
+                    do {
+                        Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+                        g.setColor(Color.BLACK);
+                        g.fillRect(0, 0, WIDTH, HEIGHT);
+
+                        currentScreen().render(g); // draw current screen
+                        if (!preloader.isDone()) drawLoadProgress(g);
+                        debug.draw(g, WIDTH);
+
+                        g.dispose();
+                    } while (bs.contentsRestored());
+                    long t1 = System.nanoTime();
+                    bs.show();
+                    long t2 = System.nanoTime();
+                    renderNanos += t1 - t0;
+                    showNanos += t2 - t1;
+                } while (bs.contentsLost());
+                long presented = System.nanoTime();
+                latency.framePresented(presented); // first frame showing an applied turn
+                stats.presented(states.get(), renderNanos, showNanos, presented);
+                pacer.frameRendered(now);
+            }
 
-                    g.dispose();
-                } while (bs.contentsRestored());
-                bs.show();
-            } while (bs.contentsLost());
+            pacer.awaitNextFrame(); // sleep/spin until the next frame instead of busy looping
         }
     }
 
+    // thin bar along the bottom while background loading is still going on
+    private void drawLoadProgress(Graphics2D g) {
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(0, HEIGHT - 4, WIDTH, 4);
+        g.setColor(Color.LIGHT_GRAY);
+        g.fillRect(0, HEIGHT - 4, (int) (WIDTH * preloader.progress()), 4);
+    }
+
     // used for transitions - decide which screen is active (based on GameStates)
+    // (a state is only entered once its screen has been resolved, see transition())
     private Screen currentScreen() {
         switch (states.get()) {
             case MENU:
@@ -120,33 +202,106 @@ public class Core extends Canvas implements Runnable {
         }
     }
 
-    // transition helpers included
+    // game thread only: the screen for a state, waiting for it once if it is still loading.
+    // null if it failed to load
+    private Screen screenFor(GameStates state) {
+        switch (state) {
+            case PLAYING:
+            case PAUSED:
+                return gameScreen = resolve(gameScreen, gameLoad);
+            case GAME_OVER:
+                return gameOverScreen = resolve(gameOverScreen, gameOverLoad);
+            case HIGHSCORES:
+                return highScoreScreen = resolve(highScoreScreen, highScoreLoad);
+            default:
+                return menuScreen;
+        }
+    }
+
+    private static Screen resolve(Screen screen, CompletableFuture<Screen> load) {
+        if (screen != null) return screen;
+        try {
+            return load.join();
+        } catch (CompletionException | CancellationException e) {
+            return null; // the preloader already logged the cause
+        }
+    }
+
+    // transition helpers included (safe from any thread; applied by the game loop)
     public void toMenu() {
-        transition(GameStates.MENU);
+        request(GameStates.MENU.ordinal());
     }
 
     public void toPlaying() {
-        transition(GameStates.PLAYING);
+        request(GameStates.PLAYING.ordinal());
     }
 
     public void toGameOver() {
-        transition(GameStates.GAME_OVER);
+        request(GameStates.GAME_OVER.ordinal());
     }
 
     public void toHighScores() {
-        transition(GameStates.HIGHSCORES);
+        request(GameStates.HIGHSCORES.ordinal());
     }
 
     public void togglePause() {
-        if (states.is(GameStates.PLAYING)) transition(GameStates.PAUSED);
-        else if (states.is(GameStates.PAUSED)) transition(GameStates.PLAYING);
+        request(TOGGLE_PAUSE); // resolved when applied, against the state at that point
+    }
+
+    /** Time from a to...() call until the game loop applied it. */
+    public Histogram getTransitionLatency() {
+        return transitionLatency;
+    }
+
+    private void request(int target) {
+        long stamp = System.nanoTime() - epoch;
+        if (!transitions.offer(stamp << 8 | target)) {
+            System.err.println("[Core] Transition queue full, request dropped");
+        }
+    }
+
+    // game thread only: apply queued transitions in request order
+    private void applyTransitions() {
+        while (transitions.hasNext()) {
+            long command = transitions.poll();
+            int target = (int) command & 0xFF;
+
+            GameStates next;
+            if (target == TOGGLE_PAUSE) {
+                if (states.is(GameStates.PLAYING)) next = GameStates.PAUSED;
+                else if (states.is(GameStates.PAUSED)) next = GameStates.PLAYING;
+                else continue;
+            } else {
+                next = STATES[target];
+            }
+
+            if (!states.is(next)) transition(next);   // e.g. a double click must not restart the game
+            transitionLatency.record(System.nanoTime() - epoch - (command >>> 8));
+        }
     }
 
     // for menu button - handling state change
     private void transition(GameStates next) {
+        Screen screen = screenFor(next);
+        if (screen == null) {       // screen failed to load: stay playable from the menu instead
+            System.err.println("[Core] " + next + " screen unavailable, returning to menu");
+            if (!states.is(GameStates.MENU)) transition(GameStates.MENU);
+            return;
+        }
         currentScreen().onExit();   // screen handles cleanup
         states.set(next);
-        currentScreen().onEnter();  // screen handles setup
+        screen.onEnter();           // screen handles setup
+        pacer.requestRender();      // new screen needs a first frame even if it is static
+    }
+
+    /** Key-to-simulation and key-to-present latency histograms (also on the F3 overlay). */
+    public InputLatency getInputLatency() {
+        return latency;
+    }
+
+    /** Per-screen frame phase timings (also over JMX and on the F3 overlay). */
+    public FrameStats getFrameStats() {
+        return stats;
     }
 
     /*helper for later when ashley adds sounds - to keep constructors valid*/
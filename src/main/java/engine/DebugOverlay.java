@@ -0,0 +1,70 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+/**
+ * Developer overlay (toggled with F3): frame rate, frame phase timings of the active screen,
+ * GC pauses and latency percentiles in the top-right corner.
+ * Only drawn while enabled, so building its strings doesn't cost anything in normal play.
+ */
+final class DebugOverlay {
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final int PAD = 6;
+
+    private final InputLatency latency;
+    private final Histogram transitions;
+    private final FrameStats stats;
+    private boolean visible;
+
+    DebugOverlay(InputLatency latency, Histogram transitions, FrameStats stats) {
+        this.latency = latency;
+        this.transitions = transitions;
+        this.stats = stats;
+    }
+
+    void toggle() {
+        visible = !visible;
+    }
+
+    boolean isVisible() {
+        return visible;
+    }
+
+    void draw(Graphics2D g, int screenWidth) {
+        if (!visible) return;
+
+        ScreenStats screen = stats.get(GameStates.valueOf(stats.getActiveScreen()));
+        Histogram gc = stats.getGcPauseTimes();
+        String[] lines = {
+                String.format("%-12s %.0f fps, frame p50 %.1f / p99 %.1f ms", stats.getActiveScreen(),
+                        stats.getFps(), screen.getFrameP50Millis(), screen.getFrameP99Millis()),
+                "update       " + screen.getUpdateTimes().summary(),
+                "render       " + screen.getRenderTimes().summary(),
+                "show         " + screen.getShowTimes().summary(),
+                String.format("steps        %d caught up, %d dropped", screen.getCaughtUpFrames(), screen.getDroppedSteps()),
+                String.format("gc pauses    %d, p99 %.1f / max %.1f ms", gc.count(), gc.percentile(99) / 1e6, gc.max() / 1e6),
+                "key->sim     " + latency.getKeyToSim().summary(),
+                "key->present " + latency.getKeyToPresent().summary(),
+                "transition   " + transitions.summary(),
+        };
+
+        g.setFont(FONT);
+        FontMetrics fm = g.getFontMetrics();
+        int width = 0;
+        for (String line : lines) width = Math.max(width, fm.stringWidth(line));
+        int height = lines.length * fm.getHeight();
+        int x = screenWidth - width - 2 * PAD;
+
+        g.setColor(BACKGROUND);
+        g.fillRect(x, 0, width + 2 * PAD, height + 2 * PAD);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], x + PAD, PAD + fm.getAscent() + i * fm.getHeight());
+        }
+    }
+}
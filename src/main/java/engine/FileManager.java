@@ -3,112 +3,168 @@ package engine;
 import entity.Score;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import javax.swing.JOptionPane;
 
 /**
- * Handles all file operations including saving/loading high scores and game settings
+ * Handles all file operations including saving/loading high scores and game settings.
+ * Saving happens in the background (see WriteBehind), so any thread may call in without waiting
+ * for the disk; call flush() or close() before exiting.
  */
 public class FileManager {
     private static final String HIGH_SCORES_FILE = "highscores.dat";
+    private static final String JOURNAL_FILE = "highscores.journal"; // scores since highscores.dat was written
     private static final String SETTINGS_FILE = "game_settings.dat";
-    private static final int MAX_HIGH_SCORES = 10;
+    private static final int MAX_HIGH_SCORES = 10; // size of the high score table shown in game
 
 
-    private List<Score> highScores;
+    private final Path highScoresFile, settingsFile;
+    private final Leaderboard leaderboard = new Leaderboard(); // every score, ranked
     private Properties settings;
+    private final WriteBehind saver = new WriteBehind("FileSaver");
+    private final ScoreJournal journal;
+    private boolean journalOpen;
+    private int snapshotSequence;   // last journal record already in highscores.dat
+    private boolean convert;        // highscores.dat is in the old format
 
     public FileManager() {
-        this.highScores = new ArrayList<>();
+        this(Paths.get(""));
+    }
+
+    /** Keeps its files in the given directory instead of the working directory */
+    public FileManager(Path dir) {
+        this.highScoresFile = dir.resolve(HIGH_SCORES_FILE).toAbsolutePath();
+        this.settingsFile = dir.resolve(SETTINGS_FILE).toAbsolutePath();
+        this.journal = new ScoreJournal(dir.resolve(JOURNAL_FILE), this::writeSnapshot);
         this.settings = new Properties();
         loadHighScores();
+        replayJournal();
+        if (convert) saveHighScores();
         loadSettings();
     }
 
 
     /**
-     * Load high scores from file
+     * Load high scores from file (old serialized files are converted to the binary format) - the
+     * constructor only: the scores journaled since are replayed on top by replayJournal()
      */
-    @SuppressWarnings("unchecked")
-    public void loadHighScores() {
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(HIGH_SCORES_FILE))) {
-
-            // changed to wrap in new ArrayList so we never keep a SubList
-            highScores = new ArrayList<>((List<Score>) ois.readObject());
-            Collections.sort(highScores);
-
-        } catch (FileNotFoundException e) {
+    private synchronized void loadHighScores() {
+        Path file = highScoresFile;
+        if (!Files.exists(file)) {
             System.out.println("No high scores file found. Starting fresh.");
             initializeDefaultHighScores();
-        } catch (IOException | ClassNotFoundException e) {
+            return;
+        }
+
+        try {
+            boolean legacy = HighScoreFile.isLegacy(file);
+            List<Score> scores = HighScoreFile.read(file);
+            if (legacy) Collections.sort(scores); // stable: equal scores keep their order
+            leaderboard.clear();
+            for (Score score : scores) leaderboard.add(score);
+            snapshotSequence = HighScoreFile.journalSequence(file);
+            if (legacy) {
+                convert = true;
+                System.out.println("Converting " + HIGH_SCORES_FILE + " to the binary format.");
+            }
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("Error loading high scores: " + e.getMessage());
             initializeDefaultHighScores();
         }
     }
 
     /**
-     * Save high scores to file
+     * Add the scores logged in the journal after highscores.dat was written
      */
-    public void saveHighScores() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(HIGH_SCORES_FILE))) {
+    private synchronized void replayJournal() {
+        try {
+            for (Score score : journal.recover(snapshotSequence)) leaderboard.add(score);
+            journalOpen = true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading score journal: " + e.getMessage());
+        }
+    }
 
-            // copy into a real ArrayList instead of keeping SubList
-            if (highScores.size() > MAX_HIGH_SCORES) {
-                highScores = new ArrayList<>(highScores.subList(0, MAX_HIGH_SCORES));
+    /**
+     * Save high scores to file (all of them, best first) - queued, written in the background
+     */
+    public void saveHighScores() {
+        if (journalOpen) {
+            journal.compact(); // the journal thread writes the snapshot and empties the journal
+            return;
+        }
+        saver.save(highScoresFile, () -> {
+            Leaderboard.Snapshot scores;
+            int sequence;
+            synchronized (this) { // snapshot taken on the writer thread, at write time
+                scores = leaderboard.snapshot();
+                sequence = currentSequence();
             }
+            return HighScoreFile.encode(scores.toList(), sequence);
+        });
+    }
 
-            // always write a fresh ArrayList copy (defensive)
-            oos.writeObject(new ArrayList<>(highScores));
-
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(null,
-                    "Error saving high scores: " + e.getMessage(),
-                    "Save Error", JOptionPane.ERROR_MESSAGE);
+    // journal thread: fold everything logged so far into highscores.dat, return the last sequence it holds
+    private int writeSnapshot() throws IOException {
+        Leaderboard.Snapshot scores;
+        int covered;
+        synchronized (this) { // only the cheap view is taken under the lock; addScore() doesn't wait for the encoding
+            scores = leaderboard.snapshot();
+            covered = currentSequence();
         }
+        WriteBehind.writeAtomically(highScoresFile, HighScoreFile.encode(scores.toList(), covered));
+        return covered;
+    }
+
+    // every score up to this journal sequence is in the leaderboard
+    private int currentSequence() {
+        return journalOpen ? journal.lastSequence() : snapshotSequence;
     }
 
     /**
-     * Add a new score and update high scores list
+     * Add a new score and update high scores list (an O(1) journal append; the disk write
+     * happens in the background)
      */
-    public boolean addScore(String playerName, int foodsEaten) {
-        Score newScore = new Score(playerName, foodsEaten);
+    public synchronized boolean addScore(String playerName, int foodsEaten) {
+        Score score = new Score(playerName, foodsEaten);
+        leaderboard.add(score);
 
-        highScores.add(newScore);
-        Collections.sort(highScores);
-
-        // remove excess scores - wrap subList in new ArrayList
-        if (highScores.size() > MAX_HIGH_SCORES) {
-            highScores = new ArrayList<>(highScores.subList(0, MAX_HIGH_SCORES));
-        }
-
-        saveHighScores();
+        if (journalOpen) journal.append(score);
+        else saveHighScores();
         return isHighScore(foodsEaten);
     }
 
     /**
      * Check if a score qualifies as high score
      */
-    public boolean isHighScore(int score) {
-        if (highScores.size() < MAX_HIGH_SCORES) {
-            return true;
-        }
-        return score > highScores.get(highScores.size() - 1).getFoodsEaten();
+    public synchronized boolean isHighScore(int score) {
+        // fewer than MAX_HIGH_SCORES entries at or above it, so it would show in the table
+        return leaderboard.countAtLeast(score) < MAX_HIGH_SCORES;
     }
 
     /**
      * Get top high scores
      */
-    public List<Score> getHighScores() {
-        return new ArrayList<>(highScores);
+    public synchronized List<Score> getHighScores() {
+        return leaderboard.top(MAX_HIGH_SCORES);
+    }
+
+    /**
+     * All scores with rank queries (rank, top K, page around a player) - synchronize on this
+     * FileManager when reading it while scores may be added
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
     }
 
     /**
      * Load game settings
      */
-    public void loadSettings() {
-        try (FileInputStream fis = new FileInputStream(SETTINGS_FILE)) {
+    public synchronized void loadSettings() {
+        try (FileInputStream fis = new FileInputStream(settingsFile.toFile())) {
             settings.load(fis);
         } catch (FileNotFoundException e) {
             System.out.println("No settings file found. Using defaults.");
@@ -120,16 +176,30 @@ public class FileManager {
     }
 
     /**
-     * Save game settings
+     * Save game settings - queued, written in the background
      */
     public void saveSettings() {
-        try (FileOutputStream fos = new FileOutputStream(SETTINGS_FILE)) {
-            settings.store(fos, "Snake Game Settings");
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(null,
-                    "Error saving settings: " + e.getMessage(),
-                    "Save Error", JOptionPane.ERROR_MESSAGE);
-        }
+        saver.save(settingsFile, () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            settings.store(out, "Snake Game Settings"); // Properties locks itself
+            return ByteBuffer.wrap(out.toByteArray());
+        });
+    }
+
+    /**
+     * Wait until every change so far is on disk
+     */
+    public void flush() {
+        saver.flush();
+        journal.sync();
+    }
+
+    /**
+     * Flush and stop the background writer (on exit)
+     */
+    public void close() {
+        saver.close();
+        journal.close(); // also folds the journal into highscores.dat
     }
 
     /**
@@ -151,12 +221,12 @@ public class FileManager {
      * Initialize default high scores for demonstration
      */
     private void initializeDefaultHighScores() {
-        highScores.add(new Score("CHAMP", 15));
-        highScores.add(new Score("ACE", 12));
-        highScores.add(new Score("PRO", 9));
-        highScores.add(new Score("ROOKIE", 6));
-        highScores.add(new Score("NEWBIE", 3));
-        Collections.sort(highScores);
+        leaderboard.clear();
+        leaderboard.add(new Score("CHAMP", 15));
+        leaderboard.add(new Score("ACE", 12));
+        leaderboard.add(new Score("PRO", 9));
+        leaderboard.add(new Score("ROOKIE", 6));
+        leaderboard.add(new Score("NEWBIE", 3));
     }
 
     /**
@@ -166,14 +236,18 @@ public class FileManager {
         settings.setProperty("player_name", "PLAYER1");
         settings.setProperty("sound_enabled", "true");
         settings.setProperty("music_volume", "80");
+        settings.setProperty("rng_seed", "random"); // or a number to replay the same games
+        settings.setProperty("frame_mode", "on_demand"); // capped | on_demand | uncapped
+        settings.setProperty("target_fps", "60");
+        settings.setProperty("audio_buffer_ms", "40"); // lower = snappier sound, higher = fewer dropouts
     }
 
 
     /**
      * Clear all high scores (for testing/reset)
      */
-    public void clearHighScores() {
-        highScores.clear();
+    public synchronized void clearHighScores() {
+        leaderboard.clear();
         saveHighScores();
     }
 }
\ No newline at end of file
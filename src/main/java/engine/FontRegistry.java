@@ -0,0 +1,68 @@
+package engine;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide font cache. Each TTF file is parsed once (Font.createFont is slow), and every
+ * (style, size) variant is derived once and shared, so screens and render loops never create fonts.
+ *
+ * If a file is missing or can't be parsed the caller's fallback font is used instead, the same
+ * way the screens used to fall back to Arial. Safe to call from several threads.
+ */
+public final class FontRegistry {
+
+    /** The game's pixel font. */
+    public static final String ALAGARD = "resources/fonts/alagard.ttf";
+
+    private static final Map<String, Optional<Font>> bases = new ConcurrentHashMap<>();
+    private static final Map<String, Font> derived = new ConcurrentHashMap<>();
+
+    private FontRegistry() { }
+
+    /**
+     * The font in path at the given style and size, or fallback if the file can't be loaded.
+     * Repeated calls return the same instance.
+     */
+    public static Font get(String path, int style, float size, Font fallback) {
+        Optional<Font> base = base(path);
+        if (base.isEmpty()) return fallback;
+        return derived.computeIfAbsent(path + "|" + style + "|" + size, k -> base.get().deriveFont(style, size));
+    }
+
+    /** Parses the file now (e.g. on a loader thread) so later get() calls only derive. */
+    public static void preload(String path) {
+        base(path);
+    }
+
+    /**
+     * Draws the given strings once offscreen, so the glyphs are rasterised into the JDK's glyph
+     * cache before the first real frame instead of during it.
+     */
+    public static void prewarm(Font font, String... texts) {
+        BufferedImage scratch = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        try {
+            g.setFont(font);
+            for (String text : texts) g.drawString(text, 0, 48);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static Optional<Font> base(String path) {
+        return bases.computeIfAbsent(path, k -> {
+            try (InputStream in = new FileInputStream(path)) {
+                return Optional.of(Font.createFont(Font.TRUETYPE_FONT, in));
+            } catch (Exception e) {
+                return Optional.empty();
+            }
+        });
+    }
+}
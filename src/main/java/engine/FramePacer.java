@@ -0,0 +1,97 @@
+package engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides when the game loop renders and how it waits in between, so the loop no longer
+ * spins a whole core.
+ *
+ *  - CAPPED:    render every frame at the target FPS
+ *  - ON_DEMAND: same pacing, but skip rendering while the screen is static and nothing changed
+ *               (a keep-alive frame still goes out now and then in case the window got exposed)
+ *  - UNCAPPED:  never wait; render as fast as possible (benchmarking only)
+ *
+ * Waiting is hybrid: park for most of the gap, then spin the last stretch so deadlines
+ * are hit precisely despite coarse OS timers.
+ */
+public final class FramePacer {
+
+    public enum Mode { CAPPED, ON_DEMAND, UNCAPPED }
+
+    private static final long SPIN_NANOS = 1_500_000L;        // spin the final 1.5 ms before a deadline
+    private static final long KEEP_ALIVE_NANOS = 250_000_000L; // static screens still redraw 4x per second
+
+    private final Mode mode;
+    private final long frameNanos;
+    private long nextFrame;
+    private long lastRender;
+    private volatile boolean dirty = true;  // set from other threads (transitions, input)
+
+    public FramePacer(Mode mode, int targetFps) {
+        this.mode = mode;
+        this.frameNanos = 1_000_000_000L / Math.max(1, targetFps);
+        this.nextFrame = System.nanoTime();
+    }
+
+    /** Builds a pacer from the "frame_mode" and "target_fps" settings. */
+    public static FramePacer fromSettings(FileManager files) {
+        Mode mode;
+        try {
+            mode = Mode.valueOf(files.getSetting("frame_mode", "on_demand").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown frame_mode setting, using ON_DEMAND");
+            mode = Mode.ON_DEMAND;
+        }
+        int fps;
+        try {
+            fps = Integer.parseInt(files.getSetting("target_fps", "60").trim());
+        } catch (NumberFormatException e) {
+            fps = 60;
+        }
+        return new FramePacer(mode, fps);
+    }
+
+    public Mode getMode() { return mode; }
+
+    /** Something visible changed (state transition, lost buffer, ...) - render on the next frame. */
+    public void requestRender() {
+        dirty = true;
+    }
+
+    /** Whether this frame should be drawn; animating screens always are. */
+    public boolean shouldRender(boolean animating, long now) {
+        if (mode != Mode.ON_DEMAND || animating || dirty) return true;
+        return now - lastRender >= KEEP_ALIVE_NANOS;
+    }
+
+    public void frameRendered(long now) {
+        dirty = false;
+        lastRender = now;
+    }
+
+    /** Blocks until the next frame is due (returns straight away when uncapped). */
+    public void awaitNextFrame() {
+        if (mode == Mode.UNCAPPED) return;
+
+        nextFrame += frameNanos;
+        long now = System.nanoTime();
+        if (nextFrame - now < -frameNanos) {
+            nextFrame = now; // fell more than a frame behind (stall, breakpoint): resync instead of bursting
+            return;
+        }
+        sleepUntil(nextFrame);
+    }
+
+    /** Parks for most of the remaining time, then spins until the deadline. */
+    static void sleepUntil(long deadline) {
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
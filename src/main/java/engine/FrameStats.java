@@ -0,0 +1,185 @@
+package engine;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.NotificationEmitter;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-phase frame timings of the game loop, kept per screen (GameStates value): fixed-step update
+ * time and count, dropped/caught-up steps, render time, bs.show() time and frame-to-frame time.
+ * Also collects GC pause durations from the GarbageCollectorMXBeans.
+ *
+ * The game loop records with plain nanoTime differences into Histograms, so recording never
+ * allocates and stays on all the time. Results are read by the F3 overlay and over JMX
+ * (register()); e.g. jconsole -> MBeans -> snake.
+ */
+public final class FrameStats implements FrameStatsMBean {
+
+    private static final GameStates[] STATES = GameStates.values();
+    private static final long FPS_WINDOW_NANOS = 1_000_000_000L;
+
+    private final ScreenStats[] screens = new ScreenStats[STATES.length];
+    private final Histogram frame = new Histogram();
+    private final Histogram gcPauses = new Histogram();
+    private volatile GameStates active = GameStates.MENU;
+
+    // game thread only
+    private long lastPresent;
+    private long windowStart;
+    private int windowFrames;
+    private volatile double fps;
+
+    public FrameStats() {
+        for (int i = 0; i < screens.length; i++) screens[i] = new ScreenStats();
+    }
+
+    /** One loop iteration ran steps fixed updates (dropped more were skipped) in nanos. */
+    public void updated(GameStates state, int steps, long dropped, long nanos) {
+        if (steps == 0) return;
+        ScreenStats s = screens[state.ordinal()];
+        s.update.record(nanos);
+        s.steps.record(steps);
+        if (steps > 1) s.caughtUpFrames++;
+        if (dropped > 0) s.droppedSteps += dropped;
+    }
+
+    /** A frame was rendered in renderNanos and shown in showNanos, finishing at nowNanos. */
+    public void presented(GameStates state, long renderNanos, long showNanos, long nowNanos) {
+        active = state;
+        ScreenStats s = screens[state.ordinal()];
+        s.render.record(renderNanos);
+        s.show.record(showNanos);
+
+        if (lastPresent != 0) {
+            long interval = nowNanos - lastPresent;
+            s.frame.record(interval);
+            frame.record(interval);
+        }
+        lastPresent = nowNanos;
+
+        windowFrames++;
+        long elapsed = nowNanos - windowStart;
+        if (elapsed >= FPS_WINDOW_NANOS) {
+            fps = windowStart == 0 ? 0 : windowFrames * 1e9 / elapsed;
+            windowStart = nowNanos;
+            windowFrames = 0;
+        }
+    }
+
+    public ScreenStats get(GameStates state) {
+        return screens[state.ordinal()];
+    }
+
+    /** Frame-to-frame times over all screens. */
+    public Histogram getFrameTimes() {
+        return frame;
+    }
+
+    public Histogram getGcPauseTimes() {
+        return gcPauses;
+    }
+
+    /**
+     * Publishes these stats (and one MBean per screen) on the platform MBean server and starts
+     * listening for GC pauses. Failures are logged; the game runs fine without JMX.
+     */
+    public void register() {
+        register(ManagementFactory.getPlatformMBeanServer());
+        listenForGc();
+    }
+
+    public void register(MBeanServer server) {
+        try {
+            server.registerMBean(this, new ObjectName("snake:type=FrameStats"));
+            for (GameStates state : STATES) {
+                server.registerMBean(get(state), new ObjectName("snake:type=FrameStats,screen=" + state));
+            }
+        } catch (JMException e) {
+            System.out.println("[FrameStats] Not registered over JMX: " + e.getMessage());
+        }
+    }
+
+    // notifications arrive on a JMX thread, not the game thread, so their allocation doesn't matter
+    private void listenForGc() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter)) continue;
+            ((NotificationEmitter) gc).addNotificationListener((n, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+                if (info.getGcAction().contains("concurrent")) return;   // runs beside the game, not a pause
+                gcPauses.record(info.getGcInfo().getDuration() * 1_000_000L);
+            }, null, null);
+        }
+    }
+
+    // ---------------- FrameStatsMBean ----------------
+
+    @Override
+    public String getActiveScreen() {
+        return active.name();
+    }
+
+    @Override
+    public double getFps() {
+        return fps;
+    }
+
+    @Override
+    public long getFrames() {
+        long n = 0;
+        for (ScreenStats s : screens) n += s.getFrames();
+        return n;
+    }
+
+    @Override
+    public double getFrameP50Millis() {
+        return frame.percentile(50) / 1e6;
+    }
+
+    @Override
+    public double getFrameP99Millis() {
+        return frame.percentile(99) / 1e6;
+    }
+
+    @Override
+    public long getDroppedSteps() {
+        long n = 0;
+        for (ScreenStats s : screens) n += s.droppedSteps;
+        return n;
+    }
+
+    @Override
+    public long getCaughtUpFrames() {
+        long n = 0;
+        for (ScreenStats s : screens) n += s.caughtUpFrames;
+        return n;
+    }
+
+    @Override
+    public long getGcPauses() {
+        return gcPauses.count();
+    }
+
+    @Override
+    public double getGcPauseP99Millis() {
+        return gcPauses.percentile(99) / 1e6;
+    }
+
+    @Override
+    public double getGcPauseMaxMillis() {
+        return gcPauses.max() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        for (ScreenStats s : screens) s.reset();
+        frame.reset();
+        gcPauses.reset();
+    }
+}
@@ -0,0 +1,29 @@
+package engine;
+
+/** JMX view of FrameStats (snake:type=FrameStats). Times are in milliseconds. */
+public interface FrameStatsMBean {
+
+    String getActiveScreen();
+
+    double getFps();
+
+    long getFrames();
+
+    double getFrameP50Millis();
+
+    double getFrameP99Millis();
+
+    /** Fixed steps skipped because the loop fell too far behind. */
+    long getDroppedSteps();
+
+    /** Frames that had to run more than one fixed step to catch up. */
+    long getCaughtUpFrames();
+
+    long getGcPauses();
+
+    double getGcPauseP99Millis();
+
+    double getGcPauseMaxMillis();
+
+    void reset();
+}
@@ -0,0 +1,199 @@
+package engine;
+
+import entity.Score;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * highscores.dat on disk: a fixed-layout binary file instead of Java serialization.
+ *
+ * <pre>
+ * header   (24 bytes)  int magic "SNHS", short version, short record size,
+ *                      int record count, int name table length, int CRC32C of everything after
+ *                      the header, int last ScoreJournal sequence folded in (0 = none)
+ * records  (16 bytes each)  int foods eaten, long timestamp, int offset of the name in the table
+ * names    u2 length + UTF-8 bytes per distinct name
+ * </pre>
+ *
+ * All big-endian. Written with one FileChannel write and read back with one read, so load and
+ * save are a single pass with no reflection. Files written by the old ObjectOutputStream code are
+ * recognised and read once through a filtered ObjectInputStream (only a list of Scores gets in).
+ */
+public final class HighScoreFile {
+
+    static final int MAGIC = 0x534E4853;     // "SNHS"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int RECORD_BYTES = 16;
+
+    private static final short SERIAL_MAGIC = (short) 0xACED;   // ObjectOutputStream stream header
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    // what an old highscores.dat may contain (ArrayList checks an Object[] for its elements);
+    // anything else is rejected before it is instantiated
+    private static final ObjectInputFilter LEGACY_FILTER = ObjectInputFilter.Config.createFilter(
+            "java.util.ArrayList;java.lang.Object;entity.Score;java.lang.String;"
+                    + "maxarray=1000000;maxdepth=4;maxrefs=1000000;maxbytes=100000000;!*");
+
+    private HighScoreFile() {
+    }
+
+    /** True if file was written by the old ObjectOutputStream code and should be migrated. */
+    public static boolean isLegacy(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(2);
+            return head.length == 2 && (short) ((head[0] & 0xFF) << 8 | head[1] & 0xFF) == SERIAL_MAGIC;
+        }
+    }
+
+    /** Reads scores in file order; either format. */
+    public static List<Score> read(Path file) throws IOException {
+        if (isLegacy(file)) return readLegacy(file);
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) throw new IOException("high score file too short");
+            if (size > Integer.MAX_VALUE) throw new IOException("high score file too large");
+            // read, not mapped: while a mapping is alive Windows refuses to replace the file on save
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && ch.read(buf) >= 0) { /* fill */ }
+            return decode(buf.flip());
+        }
+    }
+
+    /** Replaces file with the given scores in the binary format (temp file + atomic rename). */
+    public static void write(Path file, List<Score> scores) throws IOException {
+        WriteBehind.writeAtomically(file.toAbsolutePath(), encode(scores, 0));
+    }
+
+    /** Last journal sequence the snapshot in file already contains; 0 for old or missing files. */
+    public static int journalSequence(Path file) throws IOException {
+        if (!Files.exists(file) || isLegacy(file)) return 0;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES);
+            while (head.hasRemaining() && ch.read(head) >= 0) { /* fill */ }
+            return head.getInt(0) == MAGIC && !head.hasRemaining() ? head.getInt(20) : 0;
+        }
+    }
+
+    // ---------------- format ----------------
+
+    static ByteBuffer encode(List<Score> scores, int journalSequence) {
+        // distinct names once each: big files are mostly the same few players
+        Map<String, Integer> offsets = new HashMap<>();
+        List<byte[]> names = new ArrayList<>();
+        int[] nameOffset = new int[scores.size()];
+        int namesLength = 0;
+        for (int i = 0; i < scores.size(); i++) {
+            String name = scores.get(i).getPlayerName();
+            if (name == null) name = "";
+            Integer offset = offsets.get(name);
+            if (offset == null) {
+                byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+                if (utf8.length > MAX_NAME_BYTES) throw new IllegalArgumentException("player name too long");
+                offset = namesLength;
+                offsets.put(name, offset);
+                names.add(utf8);
+                namesLength += 2 + utf8.length;
+            }
+            nameOffset[i] = offset;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + scores.size() * RECORD_BYTES + namesLength);
+        buf.position(HEADER_BYTES);
+        for (int i = 0; i < scores.size(); i++) {
+            Score s = scores.get(i);
+            buf.putInt(s.getFoodsEaten()).putLong(s.getTimestamp()).putInt(nameOffset[i]);
+        }
+        for (byte[] utf8 : names) buf.putShort((short) utf8.length).put(utf8);
+
+        buf.putInt(0, MAGIC)
+                .putShort(4, VERSION)
+                .putShort(6, (short) RECORD_BYTES)
+                .putInt(8, scores.size())
+                .putInt(12, namesLength)
+                .putInt(16, crc(buf, HEADER_BYTES, buf.capacity()))
+                .putInt(20, journalSequence);
+        return buf.rewind();
+    }
+
+    static List<Score> decode(ByteBuffer buf) throws IOException {
+        if (buf.getInt(0) != MAGIC) throw new IOException("not a high score file");
+        if (buf.getShort(4) != VERSION) throw new IOException("unsupported high score file version " + buf.getShort(4));
+
+        int recordBytes = buf.getShort(6);
+        int count = buf.getInt(8);
+        int namesLength = buf.getInt(12);
+        long recordsEnd = HEADER_BYTES + (long) count * recordBytes;
+        if (recordBytes < RECORD_BYTES || count < 0 || namesLength < 0 || recordsEnd + namesLength != buf.limit()) {
+            throw new IOException("corrupt high score file (bad header)");
+        }
+        if (crc(buf, HEADER_BYTES, buf.limit()) != buf.getInt(16)) {
+            throw new IOException("corrupt high score file (checksum mismatch)");
+        }
+
+        int names = (int) recordsEnd;
+        Map<Integer, String> decoded = new HashMap<>();
+        List<Score> scores = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int at = HEADER_BYTES + i * recordBytes;
+            int foods = buf.getInt(at);
+            long timestamp = buf.getLong(at + 4);
+            int offset = buf.getInt(at + 12);
+            String name = decoded.get(offset);
+            if (name == null) {
+                name = name(buf, names, namesLength, offset);
+                decoded.put(offset, name);
+            }
+            scores.add(new Score(name, foods, timestamp));
+        }
+        return scores;
+    }
+
+    private static String name(ByteBuffer buf, int table, int tableLength, int offset) throws IOException {
+        if (offset < 0 || offset + 2 > tableLength) throw new IOException("corrupt high score file (bad name offset)");
+        int length = buf.getShort(table + offset) & 0xFFFF;
+        if (offset + 2 + length > tableLength) throw new IOException("corrupt high score file (bad name length)");
+        byte[] utf8 = new byte[length];
+        buf.get(table + offset + 2, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer buf, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().position(from).limit(to));
+        return (int) crc.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Score> readLegacy(Path file) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(file))) {
+            ois.setObjectInputFilter(LEGACY_FILTER);
+            Object list = ois.readObject();
+            if (!(list instanceof List)) throw new InvalidClassException("not a score list");
+            List<Score> scores = new ArrayList<>();
+            for (Object o : (List<Object>) list) {
+                if (!(o instanceof Score)) throw new InvalidClassException("not a score: " + o);
+                scores.add((Score) o);
+            }
+            return scores;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("unreadable legacy high score file: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram of non-negative long values (nanoseconds, usually).
+ *
+ * Each power of two is split into 8 linear sub-buckets, so any recorded value is reported within
+ * 12.5% across the whole long range with a fixed 4 KB of counters. record() is a couple of shifts
+ * and an atomic increment - no allocation, no locks - so it can stay on in normal play. Reads
+ * (percentiles etc.) may run on any thread while recording continues; they see a near-current view.
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(bucket(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) { /* retry */ }
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Value at or below which the given percentage (0..100) of recordings fall, reported as the
+     * upper edge of its bucket (never above the recorded maximum). 0 when nothing was recorded.
+     */
+    public long percentile(double percent) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * n));
+
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) return Math.min(upperEdge(b), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) counts.set(b, 0);
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /** "p50 1.2 / p99 3.4 / max 5.6 ms (n=789)" for logs and overlays. */
+    public String summary() {
+        return String.format("p50 %.1f / p99 %.1f / max %.1f ms (n=%d)",
+                percentile(50) / 1e6, percentile(99) / 1e6, max() / 1e6, count());
+    }
+
+    // values below SUB get a bucket each; above, bucket = (exponent, top SUB_BITS bits below the leading one)
+    private static int bucket(long v) {
+        if (v < SUB) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int mantissa = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + mantissa;
+    }
+
+    private static long upperEdge(int b) {
+        if (b < SUB) return b;
+        int exp = b / SUB + SUB_BITS - 1;
+        long mantissa = b % SUB;
+        long low = (1L << exp) | (mantissa << (exp - SUB_BITS));
+        return low + (1L << (exp - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,43 @@
+package engine;
+
+/**
+ * Measures how long a key press takes to matter, using the System.nanoTime() stamp every
+ * InputManager event carries:
+ *  - key -> sim:     press until the snake.move() that applies the turn
+ *  - key -> present: press until the BufferStrategy.show() of the first frame showing that move
+ *
+ * All calls come from the game thread; the histograms can be read from anywhere.
+ */
+public final class InputLatency {
+
+    private final Histogram keyToSim = new Histogram();
+    private final Histogram keyToPresent = new Histogram();
+    private long pendingKey;   // stamp of an applied turn whose frame hasn't been shown yet, 0 = none
+
+    /** A turn from a key pressed at keyNanos was just applied by the simulation. */
+    public void turnApplied(long keyNanos) {
+        keyToSim.record(System.nanoTime() - keyNanos);
+        if (pendingKey == 0) pendingKey = keyNanos;   // older pending turn: the next show covers both
+    }
+
+    /** A frame was just presented (after bs.show()). */
+    public void framePresented(long nowNanos) {
+        if (pendingKey == 0) return;
+        keyToPresent.record(nowNanos - pendingKey);
+        pendingKey = 0;
+    }
+
+    public Histogram getKeyToSim() {
+        return keyToSim;
+    }
+
+    public Histogram getKeyToPresent() {
+        return keyToPresent;
+    }
+
+    public void reset() {
+        keyToSim.reset();
+        keyToPresent.reset();
+        pendingKey = 0;
+    }
+}
@@ -4,24 +4,41 @@ import entity.Snake;
 import java.awt.Component;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Handles keyboard input:
  *  - Arrow keys for movement
  *  - P / ESC to pause or resume
  *  - R to restart
+ *  - F3 to toggle the debug overlay
+ *
+ * Keys arrive on the AWT event thread and are read by the game thread. Direction presses go
+ * through a bounded single-producer / single-consumer ring of primitive events (direction +
+ * System.nanoTime() stamp), so every turn is kept in order without locks; the game consumes at
+ * most one turn per snake step. Pause / restart are one-shot atomic flags.
  */
 public class InputManager implements KeyListener {
 
-    private final Set<Integer> pressed = new HashSet<>();
+    private static final int QUEUE_SIZE = 64;       // power of two
+    private static final int MASK = QUEUE_SIZE - 1;
+    private static final int MAX_BUFFERED = 3;      // older turns beyond this are dropped when consumed
+    private static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
 
-    private boolean pauseToggled = false;
-    private boolean restartRequested = false;
+    // ring: written by the AWT thread only, read by the game thread only
+    private final long[] stamps = new long[QUEUE_SIZE];
+    private final byte[] directions = new byte[QUEUE_SIZE];
+    private final AtomicLong tail = new AtomicLong();   // next slot to write, published with lazySet
+    private final AtomicLong head = new AtomicLong();   // next slot to read
+    private long headSeen;                              // AWT thread's last look at head
 
-    private Snake.Direction currentDir = Snake.Direction.RIGHT;
-    private Snake.Direction queuedDir = Snake.Direction.RIGHT;
+    private final AtomicBoolean pauseToggled = new AtomicBoolean();
+    private final AtomicBoolean restartRequested = new AtomicBoolean();
+    private final AtomicBoolean debugToggled = new AtomicBoolean();
+
+    private final boolean[] held = new boolean[256];    // AWT thread only: ignores key auto-repeat
+    private long lastTurnNanos;                         // game thread: stamp of the last consumed turn
 
     public InputManager(Component attachTo) {
         attachTo.addKeyListener(this);
@@ -29,73 +46,108 @@ public class InputManager implements KeyListener {
         attachTo.requestFocus();
     }
 
-    /** Called once per frame to update input state. */
-    public void poll() {
-        currentDir = queuedDir;
-    }
-
     public boolean consumePauseToggled() {
-        boolean x = pauseToggled;
-        pauseToggled = false;
-        return x;
+        return pauseToggled.getAndSet(false);
     }
 
     public boolean consumeRestartRequested() {
-        boolean x = restartRequested;
-        restartRequested = false;
-        return x;
+        return restartRequested.getAndSet(false);
+    }
+
+    public boolean consumeDebugToggled() {
+        return debugToggled.getAndSet(false);
+    }
+
+    /**
+     * Next queued turn for a snake currently heading in current, or null if none. Presses that
+     * would be no turn (same direction) or a U-turn into the neck are skipped. Call once per step.
+     */
+    public Snake.Direction consumeTurn(Snake.Direction current) {
+        long h = head.get();
+        long t = tail.get();
+        if (t - h > MAX_BUFFERED) h = t - MAX_BUFFERED;   // mashing keys shouldn't queue turns for seconds
+
+        while (h < t) {
+            int slot = (int) h & MASK;
+            Snake.Direction next = DIRECTIONS[directions[slot]];
+            long stamp = stamps[slot];
+            h++;
+            if (next != current && !isOpposite(current, next)) {
+                head.lazySet(h);
+                lastTurnNanos = stamp;
+                return next;
+            }
+        }
+        head.lazySet(h);
+        return null;
     }
 
-    /** Returns the newly requested direction for this frame, or null if none. */
-    public Snake.Direction consumeDirectionChange() {
-        return queuedDir; // changed to always return queuedDir
+    /** System.nanoTime() of the key press behind the last turn consumeTurn() returned. */
+    public long getLastTurnNanos() {
+        return lastTurnNanos;
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
         int code = e.getKeyCode();
-        if (!pressed.add(code)) return;
+        if (code >= 0 && code < held.length) {
+            if (held[code]) return;   // auto-repeat while held
+            held[code] = true;
+        }
 
         switch (code) {
             // ✅ Only arrow keys for movement
             case KeyEvent.VK_UP:
-                requestDirection(Snake.Direction.UP);
+                offer(Snake.Direction.UP);
                 break;
             case KeyEvent.VK_DOWN:
-                requestDirection(Snake.Direction.DOWN);
+                offer(Snake.Direction.DOWN);
                 break;
             case KeyEvent.VK_LEFT:
-                requestDirection(Snake.Direction.LEFT);
+                offer(Snake.Direction.LEFT);
                 break;
             case KeyEvent.VK_RIGHT:
-                requestDirection(Snake.Direction.RIGHT);
+                offer(Snake.Direction.RIGHT);
                 break;
 
             // Pause / Resume
             case KeyEvent.VK_P:
             case KeyEvent.VK_ESCAPE:
-                pauseToggled = true;
+                pauseToggled.set(true);
                 break;
 
             // Restart
             case KeyEvent.VK_R:
-                restartRequested = true;
+                restartRequested.set(true);
+                break;
+
+            // Debug overlay
+            case KeyEvent.VK_F3:
+                debugToggled.set(true);
                 break;
         }
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        pressed.remove(e.getKeyCode());
+        int code = e.getKeyCode();
+        if (code >= 0 && code < held.length) held[code] = false;
     }
 
     @Override
     public void keyTyped(KeyEvent e) { /* not used */ }
 
-    private void requestDirection(Snake.Direction next) {
-        if (!isOpposite(currentDir, next)) {
-            queuedDir = next;
+    // AWT thread: append a press; when the game thread has fallen a whole ring behind, drop it
+    private void offer(Snake.Direction next) {
+        long t = tail.get();
+        if (t - headSeen >= QUEUE_SIZE) {
+            headSeen = head.get();
+            if (t - headSeen >= QUEUE_SIZE) return;
         }
+        int slot = (int) t & MASK;
+        stamps[slot] = System.nanoTime();
+        directions[slot] = (byte) next.ordinal();
+        tail.lazySet(t + 1);   // publishes the slot to the game thread
     }
 
     private boolean isOpposite(Snake.Direction a, Snake.Direction b) {
@@ -105,12 +157,12 @@ public class InputManager implements KeyListener {
                 (a == Snake.Direction.RIGHT && b == Snake.Direction.LEFT);
     }
 
+    /** Drops queued input (game thread, e.g. when a new game starts). */
     public void reset() {
-        pressed.clear();
-        pauseToggled = false;
-        restartRequested = false;
-        currentDir = Snake.Direction.RIGHT;
-        queuedDir = Snake.Direction.RIGHT;
+        head.lazySet(tail.get());
+        pauseToggled.set(false);
+        restartRequested.set(false);
+        lastTurnNanos = 0;
     }
 
 }
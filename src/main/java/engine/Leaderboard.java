@@ -0,0 +1,225 @@
+package engine;
+
+import entity.Score;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every score ever submitted, ordered for rank queries: highest score first, equal scores in the
+ * order they were added (the same order the old sorted top-10 list had).
+ *
+ * Scores are bucketed by value and a Fenwick tree over the bucket sizes answers "how many scores
+ * are above x" in O(log S) (S = highest score seen, rounded up to a power of two). That gives
+ * O(log S) add and rank, O(log S + k) top-k or page of k entries from any position, and
+ * page-around-player via a per-player best entry. Millions of entries cost a few dozen bytes each.
+ *
+ * Not thread-safe; FileManager owns it.
+ */
+public final class Leaderboard {
+
+    /** Scores above this are rejected (the tree has one bucket per possible score). */
+    public static final int MAX_SCORE = 1 << 20;
+
+    private static final int INITIAL_CAPACITY = 256;   // power of two
+
+    private int[] tree = new int[INITIAL_CAPACITY + 1];   // Fenwick tree, 1-based, over bucket sizes
+    private Bucket[] buckets = new Bucket[INITIAL_CAPACITY];
+    private int total;
+    private long nextSeq;
+    private final Map<String, Best> best = new HashMap<>();
+
+    // scores of one value in the order they were added; seqs are increasing, so entries can be found by binary search
+    private static final class Bucket {
+        Score[] items = new Score[4];
+        long[] seqs = new long[4];
+        int size;
+
+        void add(Score s, long seq) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                seqs = Arrays.copyOf(seqs, size * 2);
+            }
+            items[size] = s;
+            seqs[size++] = seq;
+        }
+    }
+
+    // a player's highest (earliest on ties) entry
+    private static final class Best {
+        int score;
+        long seq;
+    }
+
+    public void add(Score s) {
+        int score = s.getFoodsEaten();
+        if (score < 0 || score > MAX_SCORE) throw new IllegalArgumentException("score out of range: " + score);
+        if (score >= buckets.length) grow(score);
+
+        if (buckets[score] == null) buckets[score] = new Bucket();
+        long seq = nextSeq++;
+        buckets[score].add(s, seq);
+        for (int i = score + 1; i < tree.length; i += i & -i) tree[i]++;
+        total++;
+
+        Best b = best.get(s.getPlayerName());
+        if (b == null) {
+            b = new Best();
+            b.score = -1;
+            best.put(s.getPlayerName(), b);
+        }
+        if (score > b.score) {
+            b.score = score;
+            b.seq = seq;
+        }
+    }
+
+    public int size() {
+        return total;
+    }
+
+    public void clear() {
+        tree = new int[INITIAL_CAPACITY + 1];
+        buckets = new Bucket[INITIAL_CAPACITY];
+        total = 0;
+        best.clear();
+    }
+
+    /** Rank (1 = best) a score of this value holds: one more than the number of strictly higher scores. */
+    public int rank(int score) {
+        return countAbove(score) + 1;
+    }
+
+    /** Number of entries scoring at least score. */
+    public int countAtLeast(int score) {
+        return score <= 0 ? total : countAbove(score - 1);
+    }
+
+    /** Position (0 = best) of the player's best entry, or -1 if they have none. */
+    public int positionOf(String player) {
+        Best b = best.get(player);
+        if (b == null) return -1;
+        Bucket bucket = buckets[b.score];
+        return countAbove(b.score) + Arrays.binarySearch(bucket.seqs, 0, bucket.size, b.seq);
+    }
+
+    /** The k best entries. */
+    public List<Score> top(int k) {
+        return range(0, k);
+    }
+
+    /**
+     * A page of pageSize entries with the player's best entry in the middle (shifted at either
+     * end of the board); empty if the player has no entry.
+     */
+    public List<Score> pageAround(String player, int pageSize) {
+        int pos = positionOf(player);
+        if (pos < 0 || pageSize <= 0) return Collections.emptyList();
+        int from = Math.max(0, Math.min(pos - pageSize / 2, total - pageSize));
+        return range(from, pageSize);
+    }
+
+    /** Up to count entries starting at position from (0 = best). */
+    public List<Score> range(int from, int count) {
+        if (from < 0) throw new IllegalArgumentException("negative position: " + from);
+        int end = (int) Math.min(total, (long) from + Math.max(0, count));
+        List<Score> out = new ArrayList<>(Math.max(0, end - from));
+
+        int pos = from;
+        while (pos < end) {
+            int score = bucketAt(pos);
+            Bucket bucket = buckets[score];
+            int offset = pos - countAbove(score);
+            int n = Math.min(bucket.size - offset, end - pos);
+            for (int i = 0; i < n; i++) out.add(bucket.items[offset + i]);
+            pos += n;
+        }
+        return out;
+    }
+
+    /**
+     * The board as it is now, best first, for reading without holding the owner's lock: taking it
+     * costs O(distinct scores), not O(entries). Entries are never moved once added, so the view
+     * just remembers how much of each bucket existed; later adds (and clear()) don't show up in it.
+     */
+    public Snapshot snapshot() {
+        int n = 0;
+        for (Bucket b : buckets) if (b != null) n++;
+        Score[][] items = new Score[n][];
+        int[] sizes = new int[n];
+        for (int score = buckets.length - 1, i = 0; score >= 0; score--) {
+            Bucket b = buckets[score];
+            if (b == null) continue;
+            items[i] = b.items;
+            sizes[i++] = b.size;
+        }
+        return new Snapshot(items, sizes, total);
+    }
+
+    /** See snapshot(). */
+    public static final class Snapshot {
+        private final Score[][] items;   // per distinct score, highest first
+        private final int[] sizes;
+        private final int total;
+
+        private Snapshot(Score[][] items, int[] sizes, int total) {
+            this.items = items;
+            this.sizes = sizes;
+            this.total = total;
+        }
+
+        /** Every entry, best first (O(entries)). */
+        public List<Score> toList() {
+            List<Score> out = new ArrayList<>(total);
+            for (int i = 0; i < items.length; i++) {
+                for (int j = 0; j < sizes[i]; j++) out.add(items[i][j]);
+            }
+            return out;
+        }
+    }
+
+    // ---------------- Fenwick tree ----------------
+
+    private int countAbove(int score) {
+        if (score < 0) return total;
+        if (score >= buckets.length) return 0;
+        return total - prefix(score);
+    }
+
+    // number of entries scoring 0..score
+    private int prefix(int score) {
+        int sum = 0;
+        for (int i = score + 1; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+
+    // score of the entry at position pos (0 = best): the smallest score whose prefix reaches total - pos
+    private int bucketAt(int pos) {
+        int target = total - pos;
+        int i = 0;
+        for (int step = Integer.highestOneBit(buckets.length); step > 0; step >>= 1) {
+            int next = i + step;
+            if (next < tree.length && tree[next] < target) {
+                i = next;
+                target -= tree[next];
+            }
+        }
+        return i;   // i is the 1-based index before the answer, i.e. the 0-based score
+    }
+
+    // more buckets: rebuild the tree from the bucket sizes in O(capacity)
+    private void grow(int score) {
+        int capacity = Integer.highestOneBit(score) << 1;
+        buckets = Arrays.copyOf(buckets, capacity);
+        tree = new int[capacity + 1];
+        for (int s = 0; s < capacity; s++) {
+            if (buckets[s] != null) tree[s + 1] += buckets[s].size;
+            int parent = s + 1 + ((s + 1) & -(s + 1));
+            if (parent <= capacity) tree[parent] += tree[s + 1];
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of primitive longs: any number of producer threads, one consumer.
+ * Commands are packed into a long by the caller, so offering and polling never allocate.
+ *
+ * Each slot carries a sequence number (the bounded MPMC scheme from Dmitry Vyukov, reduced to one
+ * consumer): producers claim a slot by CAS on the tail, write the value, then publish by bumping
+ * the slot's sequence; the consumer only reads slots whose sequence says they're published.
+ */
+final class LongRing {
+
+    private final int mask;
+    private final long[] values;
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;                 // consumer thread only
+
+    /** @param capacity rounded up to a power of two */
+    LongRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        values = new long[size];
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequence.set(i, i);
+    }
+
+    /** Adds a value; false (nothing added) when the queue is full. Any thread. */
+    boolean offer(long value) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int) pos & mask;
+            long diff = sequence.get(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    values[slot] = value;
+                    sequence.set(slot, pos + 1);       // publish (volatile write orders values[slot])
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;                           // consumer hasn't freed this slot yet: full
+            }
+            // else another producer took this slot; retry with the new tail
+        }
+    }
+
+    /** True if poll() would return a value. Consumer thread only. */
+    boolean hasNext() {
+        return sequence.get((int) head & mask) == head + 1;
+    }
+
+    /** Takes the next value; call only after hasNext() returned true. Consumer thread only. */
+    long poll() {
+        int slot = (int) head & mask;
+        long value = values[slot];
+        sequence.set(slot, head + mask + 1);            // slot free for the producer one lap later
+        head++;
+        return value;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,137 @@
+package engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A 16-bit PCM WAV file streamed straight from a memory-mapped view of its data chunk.
+ *
+ * Nothing is decoded up front and nothing lands on the heap: the mixer reads frames from the
+ * mapping as it plays, and the OS pages the file in (and out) as needed. Restarting is just
+ * resetting a position. Reads are absolute, so several voices can play one track at once.
+ */
+final class MusicTrack {
+
+    private final ByteBuffer data;    // the data chunk, little-endian
+    final int channels;
+    final float sampleRate;
+    final int frames;
+
+    private MusicTrack(ByteBuffer data, int channels, float sampleRate) {
+        this.data = data;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+        this.frames = data.capacity() / (channels * 2);
+    }
+
+    /** Sample of a frame and channel (mono tracks return their one channel for both sides). */
+    int sample(int frame, int channel) {
+        int c = channel < channels ? channel : channels - 1;
+        return data.getShort((frame * channels + c) * 2);
+    }
+
+    /**
+     * Maps a classpath WAV resource. Returns null if it is missing or not 16-bit PCM (caller
+     * falls back to decoding it into memory).
+     */
+    static MusicTrack open(String name) {
+        URL url = MusicTrack.class.getClassLoader().getResource(name);
+        if (url == null) {
+            System.out.println("[SoundManager] File not found: " + name);
+            return null;
+        }
+        try {
+            return open(localFile(url, name));
+        } catch (IOException e) {
+            System.out.println("[SoundManager] Can't stream " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Maps a WAV file on disk; null if it can't be streamed. */
+    static MusicTrack open(Path file) {
+        try {
+            return map(file);
+        } catch (IOException e) {
+            System.out.println("[SoundManager] Can't stream " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // resources inside a jar can't be mapped directly: copy them out once
+    private static Path localFile(URL url, String name) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI()).toPath();
+            } catch (Exception ignored) {
+                // fall through to copying
+            }
+        }
+        Path tmp = Files.createTempFile("music-", "-" + name.replace('/', '_'));
+        tmp.toFile().deleteOnExit();
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return tmp;
+    }
+
+    // walks the RIFF chunks for "fmt " and "data", then maps only the data chunk
+    private static MusicTrack map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(ch, head, 0);
+            if (head.getInt(0) != 0x46464952 || head.getInt(8) != 0x45564157) {   // "RIFF" ... "WAVE"
+                throw new IOException("not a WAV file");
+            }
+
+            int channels = 0, bits = 0, encoding = 0;
+            float rate = 0;
+            long pos = 12;
+            ByteBuffer chunk = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+
+            while (pos + 8 <= ch.size()) {
+                chunk.clear().limit(8);
+                readFully(ch, chunk, pos);
+                int id = chunk.getInt(0);
+                long size = chunk.getInt(4) & 0xFFFFFFFFL;
+                long body = pos + 8;
+
+                if (id == 0x20746D66) {                 // "fmt "
+                    chunk.clear().limit(16);
+                    readFully(ch, chunk, body);
+                    encoding = chunk.getShort(0) & 0xFFFF;
+                    channels = chunk.getShort(2);
+                    rate = chunk.getInt(4);
+                    bits = chunk.getShort(14);
+                } else if (id == 0x61746164) {          // "data"
+                    boolean pcm = encoding == 1 || encoding == 0xFFFE;   // plain or extensible PCM
+                    if (!pcm || bits != 16 || channels < 1 || channels > 2) {
+                        throw new IOException("only 16-bit mono/stereo PCM can be streamed");
+                    }
+                    long length = Math.min(size, ch.size() - body);
+                    length -= length % (channels * 2);
+                    ByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, body, length);
+                    return new MusicTrack(mapped.order(ByteOrder.LITTLE_ENDIAN), channels, rate);
+                }
+                pos = body + size + (size & 1);         // chunks are word aligned
+            }
+            throw new IOException("no data chunk");
+        }
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos + buf.position());
+            if (n < 0) throw new IOException("truncated WAV file");
+        }
+    }
+}
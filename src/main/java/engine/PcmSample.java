@@ -0,0 +1,69 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sound resource decoded once into 16-bit signed little-endian PCM and kept in memory.
+ * load() caches per resource name (missing files are remembered too, so they are reported once).
+ */
+final class PcmSample {
+
+    private static final Map<String, Optional<PcmSample>> cache = new ConcurrentHashMap<>();
+
+    final AudioFormat format;
+    final byte[] data;
+
+    private PcmSample(AudioFormat format, byte[] data) {
+        this.format = format;
+        this.data = data;
+    }
+
+    /** Decoded sample for a classpath resource, or null if it is missing or unreadable. */
+    static PcmSample load(String name) {
+        return cache.computeIfAbsent(name, PcmSample::decode).orElse(null);
+    }
+
+    int frames() {
+        return data.length / format.getFrameSize();
+    }
+
+    /** Byte length of the first seconds of the sample (whole frames, capped at the sample length). */
+    int bytesFor(double seconds) {
+        long frames = (long) (seconds * format.getSampleRate());
+        return (int) Math.min(data.length, frames * format.getFrameSize());
+    }
+
+    private static Optional<PcmSample> decode(String name) {
+        URL url = PcmSample.class.getClassLoader().getResource(name);
+        if (url == null) {
+            System.out.println("[SoundManager] File not found: " + name);
+            return Optional.empty();
+        }
+
+        // original stream (may be 24-bit, etc.) -> 16-bit signed PCM, same sample rate & channels
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat baseFormat = ais.getFormat();
+            AudioFormat decodedFormat = new AudioFormat(
+                    AudioFormat.Encoding.PCM_SIGNED,
+                    baseFormat.getSampleRate(),
+                    16,
+                    baseFormat.getChannels(),
+                    baseFormat.getChannels() * 2,        // 2 bytes per sample * channels
+                    baseFormat.getSampleRate(),
+                    false                                // little-endian
+            );
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(decodedFormat, ais)) {
+                return Optional.of(new PcmSample(decodedFormat, decoded.readAllBytes()));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Timers that run on the game thread, driven by the game loop: whoever owns a Scheduler calls
+ * advance(dt) from its update(), and due tasks run right there, so they can touch game state and
+ * the StateMachine without any locking. Pausing is simply not advancing.
+ *
+ * Implemented as a hashed timer wheel: WHEEL_SLOTS buckets of one tick each, tasks further out than
+ * one revolution just stay in their bucket until their due time comes round. Entries live in
+ * preallocated parallel arrays and are linked by index, so scheduling, cancelling and firing
+ * allocate nothing (pass Runnables created once, e.g. method references kept in fields).
+ *
+ * Handles encode entry index + generation, so cancelling an old handle can never hit a reused entry.
+ */
+public final class Scheduler {
+
+    /** Returned instead of a handle when nothing was scheduled. */
+    public static final long NONE = -1L;
+
+    private static final long TICK_NANOS = 1_000_000L;   // 1 ms resolution
+    private static final int WHEEL_SLOTS = 1024;          // ~1 s per revolution
+    private static final int NIL = -1;
+
+    private final int[] wheel = new int[WHEEL_SLOTS];     // first entry per bucket
+
+    // entries
+    private final Runnable[] task;
+    private final long[] due;          // nanos on this scheduler's clock
+    private final long[] period;       // 0 = one-shot
+    private final int[] generation;
+    private final int[] next, prev;    // bucket list links, or the free list through next
+    private int free;
+    private int running = NIL;         // repeating entry whose task is running (out of its bucket)
+    private int size;
+
+    private long now;                  // nanos advanced so far
+    private long tick;                 // last tick processed
+
+    public Scheduler(int capacity) {
+        task = new Runnable[capacity];
+        due = new long[capacity];
+        period = new long[capacity];
+        generation = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        Arrays.fill(wheel, NIL);
+        for (int i = 0; i < capacity; i++) next[i] = i + 1 < capacity ? i + 1 : NIL;
+        free = capacity > 0 ? 0 : NIL;
+    }
+
+    /** Runs task once after delaySeconds of advance() time. */
+    public long schedule(double delaySeconds, Runnable task) {
+        return add(delaySeconds, 0, task);
+    }
+
+    /** Runs task after delaySeconds, then every periodSeconds until cancelled. */
+    public long scheduleRepeating(double delaySeconds, double periodSeconds, Runnable task) {
+        if (periodSeconds <= 0) throw new IllegalArgumentException("period must be positive");
+        return add(delaySeconds, periodSeconds, task);
+    }
+
+    /** Cancels a pending task; false if it already ran (one-shot), was cancelled, or is NONE. */
+    public boolean cancel(long handle) {
+        int e = entry(handle);
+        if (e == NIL) return false;
+        if (e != running) unlink(e);
+        release(e);
+        return true;
+    }
+
+    /** True while the task behind handle is still waiting to run. */
+    public boolean isScheduled(long handle) {
+        return entry(handle) != NIL;
+    }
+
+    /** Seconds until the task behind handle runs, 0 if it isn't scheduled. */
+    public double remaining(long handle) {
+        int e = entry(handle);
+        return e == NIL ? 0 : Math.max(0, due[e] - now) / 1e9;
+    }
+
+    /** Cancels everything. */
+    public void clear() {
+        for (int slot = 0; slot < WHEEL_SLOTS; slot++) {
+            while (wheel[slot] != NIL) {
+                int e = wheel[slot];
+                unlink(e);
+                release(e);
+            }
+        }
+        if (running != NIL && task[running] != null) release(running);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Moves the clock forward and runs every task that became due, in due order per tick. */
+    public void advance(double dtSeconds) {
+        now += (long) (dtSeconds * 1e9);
+        long target = now / TICK_NANOS;
+
+        while (tick < target) {
+            tick++;
+            if (size == 0) {
+                tick = target;   // nothing pending: skip the empty buckets
+                break;
+            }
+            runDue((int) (tick & (WHEEL_SLOTS - 1)));
+        }
+    }
+
+    // ---------------- internals ----------------
+
+    // tasks may schedule or cancel (even clear) while running, so rescan the bucket after each one
+    private void runDue(int slot) {
+        long limit = (tick + 1) * TICK_NANOS;
+        while (true) {
+            int e = wheel[slot];
+            while (e != NIL && due[e] >= limit) e = next[e];
+            if (e == NIL) return;
+
+            Runnable r = task[e];
+            int gen = generation[e];
+            boolean repeating = period[e] > 0;
+            unlink(e);
+            if (repeating) running = e;
+            else release(e);
+
+            try {
+                r.run();
+            } finally {
+                running = NIL;
+            }
+
+            // repeating and not cancelled (or cleared) by the task itself: due again one period later
+            if (repeating && generation[e] == gen) {
+                due[e] += period[e];
+                link(e);
+            }
+        }
+    }
+
+    private long add(double delaySeconds, double periodSeconds, Runnable r) {
+        if (r == null) throw new IllegalArgumentException("task is null");
+        if (free == NIL) throw new IllegalStateException("scheduler full (" + task.length + " tasks)");
+
+        int e = free;
+        free = next[e];
+        size++;
+
+        task[e] = r;
+        // never in the past: a zero delay runs on the next tick
+        due[e] = Math.max(now + (long) (delaySeconds * 1e9), (tick + 1) * TICK_NANOS);
+        period[e] = (long) (periodSeconds * 1e9);
+        link(e);
+        return (long) generation[e] << 32 | e;
+    }
+
+    private int entry(long handle) {
+        if (handle < 0) return NIL;
+        int e = (int) handle;
+        if (e >= task.length || generation[e] != (int) (handle >>> 32) || task[e] == null) return NIL;
+        return e;
+    }
+
+    private void link(int e) {
+        int slot = (int) ((due[e] / TICK_NANOS) & (WHEEL_SLOTS - 1));
+        prev[e] = NIL;
+        next[e] = wheel[slot];
+        if (wheel[slot] != NIL) prev[wheel[slot]] = e;
+        wheel[slot] = e;
+    }
+
+    private void unlink(int e) {
+        if (prev[e] != NIL) next[prev[e]] = next[e];
+        else wheel[(int) ((due[e] / TICK_NANOS) & (WHEEL_SLOTS - 1))] = next[e];
+        if (next[e] != NIL) prev[next[e]] = prev[e];
+        prev[e] = next[e] = NIL;
+    }
+
+    private void release(int e) {
+        task[e] = null;
+        generation[e]++;
+        next[e] = free;
+        free = e;
+        size--;
+    }
+}
@@ -0,0 +1,372 @@
+package engine;
+
+import entity.Score;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of submitted scores next to the high score snapshot (highscores.journal).
+ *
+ * <pre>
+ * header  (8 bytes)  int magic "SNHJ", short version, short reserved
+ * record             int CRC32C of the rest, int sequence, int foods eaten, long timestamp,
+ *                    u2 name length, UTF-8 name
+ * </pre>
+ *
+ * append() encodes the record into a memory buffer and returns: O(1), no disk access. One writer
+ * thread takes everything appended since its last pass and writes it with a single write + fsync,
+ * so under load many records share one fsync (group commit). sync() waits for durability.
+ *
+ * Every COMPACT_RECORDS records the writer asks the Compactor to write a new snapshot holding
+ * everything up to some sequence number, then empties the journal. The snapshot stores that
+ * sequence (HighScoreFile), and recovery only replays records after it - a crash between the two
+ * steps can't count a score twice. Recovery stops at the first torn or corrupt record and cuts
+ * the file there.
+ *
+ * A batch that fails to write is not durable: the writer tries a snapshot instead (the scores are
+ * still in memory), and if that fails too it puts the batch back in front of newer records and
+ * tries again after RETRY_MS. sync() keeps waiting meanwhile; close() gives up after one attempt.
+ */
+public final class ScoreJournal {
+
+    /**
+     * Writes a snapshot of every score up to lastSequence() and returns the sequence it covers.
+     * Must not return before the snapshot survives a crash (file and directory entry forced):
+     * the journal is emptied right after.
+     */
+    public interface Compactor {
+        int writeSnapshot() throws IOException;
+    }
+
+    static final int MAGIC = 0x534E484A;   // "SNHJ"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_HEADER_BYTES = 22;
+    static final int COMPACT_RECORDS = 1024;
+    static final long RETRY_MS = 500;       // wait after a failed write before trying again
+
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private final Path file;
+    private final Compactor compactor;
+
+    // guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private int lastSequence;       // last sequence handed out
+    private int durableSequence;    // everything up to here is on disk (journal or snapshot)
+    private int sinceCompaction;    // records in the journal since the last snapshot
+    private boolean compactRequested;
+    private boolean compacting;     // the writer is on a pass that writes a snapshot
+    private long compactions;       // snapshot passes finished (successful or not)
+    private boolean closed;
+    private int failures;
+    private Thread writer;
+
+    private FileChannel channel;    // writer thread (and recover/close) only
+    private long end;               // where the next batch goes; anything past it is a failed write
+
+    public ScoreJournal(Path file, Compactor compactor) {
+        this.file = file.toAbsolutePath();
+        this.compactor = compactor;
+    }
+
+    /**
+     * Opens the journal and returns the scores logged after afterSequence (the sequence the
+     * snapshot covers), in the order they were appended. A torn or corrupt tail is cut off;
+     * a journal that isn't one at all is started afresh.
+     */
+    public synchronized List<Score> recover(int afterSequence) throws IOException {
+        if (channel != null) throw new IllegalStateException("journal already open");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        List<Score> scores = new ArrayList<>();
+        int last = afterSequence;
+        long size = channel.size();
+        long good = HEADER_BYTES;
+
+        if (size >= HEADER_BYTES && size <= Integer.MAX_VALUE) {
+            // read, not mapped: the file is cut right after, which some systems refuse while it is mapped
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && channel.read(buf, buf.position()) >= 0) { /* fill */ }
+            if (buf.getInt(0) == MAGIC && buf.getShort(4) == VERSION) {
+                int at = HEADER_BYTES;
+                while (true) {
+                    int length = recordLength(buf, at);
+                    if (length < 0) break;
+                    int seq = buf.getInt(at + 4);
+                    if (seq > afterSequence) {
+                        byte[] name = new byte[length - RECORD_HEADER_BYTES];
+                        buf.get(at + RECORD_HEADER_BYTES, name);
+                        scores.add(new Score(new String(name, StandardCharsets.UTF_8), buf.getInt(at + 8), buf.getLong(at + 12)));
+                    }
+                    sinceCompaction++;   // even if the snapshot has it: close() still has to empty the journal
+                    last = Math.max(last, seq);
+                    at += length;
+                }
+                good = at;
+            } else {
+                System.err.println("[ScoreJournal] " + file.getFileName() + " is not a score journal, starting a new one");
+                size = -1;
+            }
+        }
+
+        if (size < HEADER_BYTES) {
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION).putShort((short) 0).flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+        } else if (good < size) {
+            System.err.println("[ScoreJournal] Cut " + (size - good) + " bytes of torn/corrupt records from " + file.getFileName());
+            channel.truncate(good);
+        }
+        channel.force(true);
+        end = channel.size();
+
+        lastSequence = durableSequence = last;
+        return scores;
+    }
+
+    /** Logs a score and returns its sequence number; returns at once (see sync()). */
+    public synchronized int append(Score s) {
+        if (channel == null || closed) throw new IllegalStateException("journal not open");
+        byte[] name = (s.getPlayerName() == null ? "" : s.getPlayerName()).getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) throw new IllegalArgumentException("player name too long");
+
+        int length = RECORD_HEADER_BYTES + name.length;
+        if (pending.remaining() < length) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length));
+            pending = bigger.put(pending.flip());
+        }
+
+        int seq = ++lastSequence;
+        int start = pending.position();
+        pending.putInt(0).putInt(seq).putInt(s.getFoodsEaten()).putLong(s.getTimestamp())
+                .putShort((short) name.length).put(name);
+        pending.putInt(start, crc(pending, start + 4, start + length));
+
+        if (++sinceCompaction >= COMPACT_RECORDS) compactRequested = true;
+        startWriter();
+        notifyAll();
+        return seq;
+    }
+
+    /** Highest sequence handed out so far. */
+    public synchronized int lastSequence() {
+        return lastSequence;
+    }
+
+    /** Asks the writer to write a snapshot and empty the journal soon. */
+    public synchronized void compact() {
+        if (channel == null || closed) return;
+        compactRequested = true;
+        startWriter();
+        notifyAll();
+    }
+
+    /**
+     * Waits until every score appended before this call is on disk, and a snapshot asked for
+     * before it (compact(), or the journal filling up) has been written or has failed.
+     */
+    public synchronized void sync() {
+        int target = lastSequence;
+        long snapshots = compactions + (compacting ? 1 : 0) + (compactRequested ? 1 : 0);
+        boolean interrupted = false;
+        while ((durableSequence < target || compactions < snapshots) && writer != null && writer.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /** Writes what is pending, folds the journal into a last snapshot and closes the file. */
+    public void close() {
+        synchronized (this) {
+            if (channel == null || closed) return;
+            if (sinceCompaction > 0) compactRequested = true;
+            closed = true;
+            startWriter();
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    // ---------------- writer thread ----------------
+
+    private void startWriter() {
+        if (writer != null) return;
+        writer = new Thread(this::run, "ScoreJournal");
+        writer.setDaemon(true);   // close() on shutdown
+        writer.start();
+    }
+
+    private void run() {
+        ByteBuffer batch = ByteBuffer.allocate(4096);
+        while (true) {
+            boolean compact, stop;
+            int batchEnd;
+            synchronized (this) {
+                try {
+                    while (pending.position() == 0 && !compactRequested && !closed) wait();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // swap buffers: appends go on filling the other one while this batch is written
+                ByteBuffer full = pending;
+                pending = batch.clear();
+                batch = full.flip();
+                batchEnd = lastSequence;
+                compact = compactRequested;
+                compactRequested = false;
+                compacting = compact;
+                stop = closed;
+            }
+
+            boolean written = false, covered = false;
+            try {
+                if (batch.hasRemaining()) append(batch);
+                markDurable(batchEnd);
+                written = true;
+            } catch (IOException | RuntimeException e) {
+                failed("Write", e);
+            }
+
+            // the scores of a failed batch are still in memory, so a snapshot saves them just as well
+            if (compact || !written) {
+                try {
+                    int through = compactor.writeSnapshot();   // returns once the snapshot is durable
+                    if (through >= batchEnd) {
+                        channel.truncate(HEADER_BYTES);   // everything written is in the snapshot now
+                        channel.force(true);
+                        end = HEADER_BYTES;
+                        synchronized (this) {
+                            sinceCompaction = Math.max(0, lastSequence - through);
+                        }
+                        markDurable(through);
+                        covered = true;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failed("Snapshot", e);
+                }
+            }
+            if (compact) {
+                synchronized (this) {
+                    compacting = false;
+                    compactions++;
+                    notifyAll();
+                }
+            }
+
+            if (!written && !covered) {
+                synchronized (this) {
+                    if (stop) {
+                        System.err.println("[ScoreJournal] " + (batchEnd - durableSequence) + " scores could not be saved");
+                    } else {
+                        pending = requeue(batch.rewind());   // not durable: written again on the next pass
+                    }
+                }
+                if (!stop) {
+                    try {
+                        backOff();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+
+            if (stop) {
+                synchronized (this) {
+                    if (pending.position() == 0 && !compactRequested) {
+                        closeChannel();
+                        notifyAll();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // one write + one fsync for the whole group; a failed write is cut back so no half record stays
+    // behind (and if even that fails, the retry overwrites it: it is written at the same place)
+    private void append(ByteBuffer batch) throws IOException {
+        try {
+            for (long at = end; batch.hasRemaining(); ) at += channel.write(batch, at);
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(end);
+            } catch (IOException ignored) {
+                // overwritten by the retry, or cut by recovery at the next start
+            }
+            throw e;
+        }
+        end += batch.limit();
+    }
+
+    // failed records go back in front of those appended since, so the journal stays in sequence order
+    private ByteBuffer requeue(ByteBuffer failed) {
+        ByteBuffer merged = ByteBuffer.allocate(Math.max(pending.capacity(), failed.remaining() + pending.position()));
+        return merged.put(failed).put(pending.flip());
+    }
+
+    // after a failed pass: give the disk a moment instead of retrying in a tight loop (close() cuts it short)
+    private synchronized void backOff() throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RETRY_MS);
+        for (long left; !closed && (left = until - System.nanoTime()) > 0; ) {
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+        }
+    }
+
+    private synchronized void failed(String what, Exception e) {
+        System.err.println("[ScoreJournal] " + what + " failed: " + e.getMessage());
+        failures++;
+    }
+
+    private synchronized void markDurable(int sequence) {
+        durableSequence = Math.max(durableSequence, sequence);
+        notifyAll();
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("[ScoreJournal] Close failed: " + e.getMessage());
+        }
+    }
+
+    // ---------------- format ----------------
+
+    // length of the valid record at 'at', or -1 if it is missing, torn or corrupt
+    private static int recordLength(ByteBuffer buf, int at) {
+        if (buf.capacity() - at < RECORD_HEADER_BYTES) return -1;
+        int length = RECORD_HEADER_BYTES + (buf.getShort(at + 20) & 0xFFFF);
+        if (buf.capacity() - at < length) return -1;
+        if (crc(buf, at + 4, at + length) != buf.getInt(at)) return -1;
+        return length;
+    }
+
+    private static int crc(ByteBuffer buf, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().limit(to).position(from));
+        return (int) crc.getValue();
+    }
+}
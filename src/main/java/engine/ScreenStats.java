@@ -0,0 +1,103 @@
+package engine;
+
+/**
+ * Where the frames of one screen (GameStates value) spend their time. Recorded by FrameStats on
+ * the game thread; readable from anywhere (overlay, JMX).
+ */
+public final class ScreenStats implements ScreenStatsMBean {
+
+    final Histogram frame = new Histogram();    // presented frame to presented frame
+    final Histogram update = new Histogram();   // all fixed steps of one loop iteration
+    final Histogram steps = new Histogram();    // fixed steps per loop iteration
+    final Histogram render = new Histogram();   // clear + screen.render + overlays
+    final Histogram show = new Histogram();     // bs.show()
+    volatile long droppedSteps;
+    volatile long caughtUpFrames;
+
+    public Histogram getFrameTimes() {
+        return frame;
+    }
+
+    public Histogram getUpdateTimes() {
+        return update;
+    }
+
+    public Histogram getRenderTimes() {
+        return render;
+    }
+
+    public Histogram getShowTimes() {
+        return show;
+    }
+
+    @Override
+    public long getFrames() {
+        return render.count();
+    }
+
+    @Override
+    public double getFrameP50Millis() {
+        return frame.percentile(50) / 1e6;
+    }
+
+    @Override
+    public double getFrameP99Millis() {
+        return frame.percentile(99) / 1e6;
+    }
+
+    @Override
+    public double getUpdateP50Millis() {
+        return update.percentile(50) / 1e6;
+    }
+
+    @Override
+    public double getUpdateP99Millis() {
+        return update.percentile(99) / 1e6;
+    }
+
+    @Override
+    public double getStepsPerFrameMean() {
+        return steps.mean();
+    }
+
+    @Override
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+
+    @Override
+    public long getCaughtUpFrames() {
+        return caughtUpFrames;
+    }
+
+    @Override
+    public double getRenderP50Millis() {
+        return render.percentile(50) / 1e6;
+    }
+
+    @Override
+    public double getRenderP99Millis() {
+        return render.percentile(99) / 1e6;
+    }
+
+    @Override
+    public double getShowP50Millis() {
+        return show.percentile(50) / 1e6;
+    }
+
+    @Override
+    public double getShowP99Millis() {
+        return show.percentile(99) / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        frame.reset();
+        update.reset();
+        steps.reset();
+        render.reset();
+        show.reset();
+        droppedSteps = 0;
+        caughtUpFrames = 0;
+    }
+}
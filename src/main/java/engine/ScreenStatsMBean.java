@@ -0,0 +1,31 @@
+package engine;
+
+/** JMX view of one screen's frame phases (snake:type=FrameStats,screen=...). Times are in milliseconds. */
+public interface ScreenStatsMBean {
+
+    long getFrames();
+
+    double getFrameP50Millis();
+
+    double getFrameP99Millis();
+
+    double getUpdateP50Millis();
+
+    double getUpdateP99Millis();
+
+    double getStepsPerFrameMean();
+
+    long getDroppedSteps();
+
+    long getCaughtUpFrames();
+
+    double getRenderP50Millis();
+
+    double getRenderP99Millis();
+
+    double getShowP50Millis();
+
+    double getShowP99Millis();
+
+    void reset();
+}
@@ -1,7 +1,7 @@
 package engine;
 
-import javax.sound.sampled.*;
-import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Manages all sound effects for the game:
@@ -14,162 +14,150 @@ import java.net.URL;
  */
 public class SoundManager {
 
-    private Clip bgmClip;
+    // every sound is mixed in software onto one output line (see AudioMixer)
+    private final AudioMixer mixer;
+    private int bgm = -1, move = -1, eat = -1, hit = -1;   // mixer sound ids, -1 = file missing
+    private boolean bgmStreamed;                           // bgm is a streamed music track, not a sound
+    private volatile boolean loaded;                       // set last: publishes the ids above
+    private final Map<String, Integer> musicTracks = new HashMap<>();
+    private boolean bgmPlaying;
 
-    private Clip moveClip;
     private final String BGM_FILE  = "bgm.wav";
     private final String MOVE_FILE = "move.wav";
     private final String EAT_FILE  = "eat.wav";
     private final String HIT_FILE  = "hit.wav";
 
+    private static final float BGM_GAIN_DB = -15.0f;  // about 50% volume reduction
+    private static final int BGM_STOP_FADE_MS = 60;   // just long enough to avoid a click
+    private static final float MOVE_GAIN_DB = +6.0f;  // boosted
+    private static final int EAT_VOICES = 4;          // overlapping bites at high speed; the oldest is cut off
+    private static final int HIT_VOICES = 2;
+    private static final double EAT_SECONDS = 0.5;
 
-    /** Play background BGM */
-    public void playBGM() {
-        try {
-            // Prevent duplicate playback
-            if (bgmClip != null && bgmClip.isRunning())
-                return;
 
-            bgmClip = loadClip(BGM_FILE);
+    public SoundManager() {
+        this(new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS));
+    }
 
-            if (bgmClip != null) {
+    /** Uses the "audio_buffer_ms" setting for the output latency */
+    public SoundManager(FileManager files) {
+        this(AudioMixer.fromSettings(files));
+    }
 
-                // Reduce BGM volume to 50%
-                FloatControl gain = (FloatControl) bgmClip.getControl(FloatControl.Type.MASTER_GAIN);
-                float volume = -15.0f; // about 50% volume reduction
-                gain.setValue(volume);
+    private SoundManager(AudioMixer mixer) {
+        this.mixer = mixer;
+    }
 
-                bgmClip.loop(Clip.LOOP_CONTINUOUSLY);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+
+    /** Decode every sound and open the output line ahead of time (called from the asset preloader) */
+    public void preload() {
+        load();
+    }
+
+
+    /** Play background BGM */
+    public void playBGM() {
+        load();
+        // Prevent duplicate playback
+        if (bgm < 0 || bgmPlaying) return;
+        bgmPlaying = bgmStreamed ? mixer.playMusic(bgm, BGM_GAIN_DB, 0) : mixer.loop(bgm, BGM_GAIN_DB);
+    }
+
+
+    /**
+     * Switch the background music to another streamed WAV track, crossfading over fadeMillis.
+     * The track keeps looping until stopBGM().
+     */
+    public void playMusic(String file, int fadeMillis) {
+        load();
+        int track = musicTrack(file);
+        if (track < 0) return;
+        if (bgmPlaying && !bgmStreamed) mixer.stop(bgm);
+        bgmPlaying = mixer.playMusic(track, BGM_GAIN_DB, fadeMillis);
     }
 
 
     /** Stop background music */
     public void stopBGM() {
-        if (bgmClip != null) {
-            bgmClip.stop();
-        }
+        load();
+        if (!bgmStreamed && bgm >= 0) mixer.stop(bgm);
+        mixer.stopMusic(BGM_STOP_FADE_MS);
+        bgmPlaying = false;
     }
 
 
-    /** Play movement sound (boosted volume) */
+    /** Play movement sound (boosted volume, restarts instead of overlapping) */
     public void playMove() {
-        try {
-            if (moveClip == null) {
-                moveClip = loadClip(MOVE_FILE);
-                if (moveClip == null) return;
-
-                // Set move volume once
-                try {
-                    FloatControl gain = (FloatControl) moveClip.getControl(FloatControl.Type.MASTER_GAIN);
-                    gain.setValue(+6.0f);
-                } catch (Exception ignored) {}
-            }
-
-            // restart from beginning (no overlap)
-            moveClip.stop();
-            moveClip.setFramePosition(0);
-            moveClip.start();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        load();
+        if (move >= 0) mixer.restart(move, MOVE_GAIN_DB);
     }
 
     public void stopMove() {
-        if (moveClip != null && moveClip.isRunning()) {
-            moveClip.stop();
-            moveClip.setFramePosition(0);
-        }
+        load();
+        if (move >= 0) mixer.stop(move);
     }
 
 
-    /** Play eating sound (0.5 sec only) */
+    /** Play eating sound (0.5 sec only - the sound is registered with its first 0.5 s) */
     public void playEat() {
-        try {
-            Clip clip = loadClip(EAT_FILE);
-
-            if (clip != null) {
-                clip.start();
-
-                // Stop after 0.5 seconds
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(500);
-                        clip.stop();
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }).start();
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        load();
+        if (eat >= 0) mixer.play(eat, 0f);
     }
 
 
     /** Play wall collision sound */
     public void playHit() {
-        playEffect(HIT_FILE);
+        load();
+        if (hit >= 0) mixer.play(hit, 0f);
     }
 
 
-
-    // ---------------- internal methods ----------------
+    /** Stop the audio thread and release the output line */
+    public void close() {
+        mixer.close();
+    }
 
 
-    /** Play one-shot short effect */
-    private void playEffect(String fileName) {
-        try {
-            Clip clip = loadClip(fileName);
-            if (clip != null)
-                clip.start();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
+    // ---------------- internal methods ----------------
 
 
-    /** Load .wav file as Clip (convert to 16-bit PCM if needed) */
-    private Clip loadClip(String name) {
-        try {
-            URL url = getClass().getClassLoader().getResource(name);
-            if (url == null) {
-                System.out.println("[SoundManager] File not found: " + name);
-                return null;
+    /** Register all sounds with the mixer and start it, once (lock-free after that) */
+    private void load() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            try {
+                // music streams from the mapped file; only formats the stream can't read are decoded into memory
+                bgm = musicTrack(BGM_FILE);
+                bgmStreamed = bgm >= 0;
+                if (!bgmStreamed && getClass().getClassLoader().getResource(BGM_FILE) != null) {
+                    bgm = register(BGM_FILE, 1, 0);
+                }
+                move = register(MOVE_FILE, 1, 0);
+                eat  = register(EAT_FILE, EAT_VOICES, EAT_SECONDS);
+                hit  = register(HIT_FILE, HIT_VOICES, 0);
+                mixer.start();
+            } finally {
+                loaded = true;  // missing files are reported once, not on every play
             }
+        }
+    }
 
-            // original stream (may be 24-bit, etc.)
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            AudioFormat baseFormat = ais.getFormat();
-
-            // target format: 16-bit signed PCM, same sample rate & channels
-            AudioFormat decodedFormat = new AudioFormat(
-                    AudioFormat.Encoding.PCM_SIGNED,
-                    baseFormat.getSampleRate(),          // keep original sample rate
-                    16,                                  // 16-bit
-                    baseFormat.getChannels(),
-                    baseFormat.getChannels() * 2,        // 2 bytes per sample * channels
-                    baseFormat.getSampleRate(),
-                    false                                // little-endian
-            );
-
-            AudioInputStream decodedAis =
-                    AudioSystem.getAudioInputStream(decodedFormat, ais);
-
-            Clip clip = AudioSystem.getClip();
-            clip.open(decodedAis);
-            return clip;
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+    /** Mixer track id for a streamed WAV resource (opened once), -1 if it can't be streamed */
+    private synchronized int musicTrack(String name) {
+        Integer id = musicTracks.get(name);
+        if (id == null) {
+            MusicTrack track = MusicTrack.open(name);
+            id = track == null ? -1 : mixer.registerMusic(track);
+            musicTracks.put(name, id);
         }
+        return id;
+    }
+
+    private int register(String name, int voices, double maxSeconds) {
+        PcmSample sample = PcmSample.load(name);
+        return sample == null ? -1 : mixer.register(sample, voices, maxSeconds);
     }
 
 }
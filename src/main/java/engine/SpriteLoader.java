@@ -1,20 +1,18 @@
 package engine;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 
 public final class SpriteLoader {
 
     private SpriteLoader() { }
 
+    // cached + display compatible (see AssetCache); callers share the returned image, don't draw into it
     public static BufferedImage load(String path) {
-        try {
-            return ImageIO.read(new File(path));
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load sprite: " + path, e);
-        }
+        return AssetCache.get(path);
     }
-}
 
+    // same, pre-scaled to the size it will be drawn at so drawImage needs no scaling
+    public static BufferedImage load(String path, int width, int height) {
+        return AssetCache.get(path, width, height);
+    }
+}
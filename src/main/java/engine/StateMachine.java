@@ -1,7 +1,8 @@
 package engine;
 
+/** Current game state; changed only by the game loop (see Core), readable from any thread. */
 public final class StateMachine {
-    private GameStates current = GameStates.MENU;
+    private volatile GameStates current = GameStates.MENU;
 
     public GameStates get() { return current; }
     public boolean is(GameStates s) { return current == s; }
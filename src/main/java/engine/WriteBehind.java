@@ -0,0 +1,170 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes files in the background so the game and Swing threads never wait for the disk.
+ *
+ * save(file, content) only records that file is out of date and returns. One writer thread waits
+ * COALESCE_MS for more changes, then asks each dirty file's content for its current bytes and
+ * writes them: ten setSetting() calls in a row become one write of the final state. Each write
+ * goes to a temp file next to the target, is forced to disk and renamed over it with ATOMIC_MOVE,
+ * so a crash leaves either the old or the new file, never half of one; the directory is forced
+ * after the rename, so once a write returns the new file is what a crash leaves.
+ *
+ * Errors are logged and counted (getFailures()); the next save of that file tries again.
+ * flush() blocks until everything saved so far is on disk - call it on shutdown.
+ */
+public final class WriteBehind {
+
+    /** Produces a file's bytes; called on the writer thread, so it must read its data safely. */
+    public interface Content {
+        ByteBuffer bytes() throws IOException;
+    }
+
+    static final long COALESCE_MS = 250;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final String name;
+    private final long coalesceMillis;
+    private final Map<Path, Content> dirty = new LinkedHashMap<>();   // guarded by this
+    private long requested;      // saves so far
+    private long written;        // saves covered by completed writes
+    private boolean flushing;    // skip the coalescing wait
+    private boolean closed;
+    private int failures;
+    private Thread writer;
+
+    public WriteBehind(String name) {
+        this(name, COALESCE_MS);
+    }
+
+    public WriteBehind(String name, long coalesceMillis) {
+        this.name = name;
+        this.coalesceMillis = coalesceMillis;
+    }
+
+    /** Marks file as needing a write of content; returns at once. A newer content replaces an older one. */
+    public synchronized void save(Path file, Content content) {
+        if (closed) throw new IllegalStateException(name + " is closed");
+        dirty.put(file.toAbsolutePath(), content);
+        requested++;
+        if (writer == null) {
+            writer = new Thread(this::run, name);
+            writer.setDaemon(true);   // flush() on shutdown, don't keep the JVM alive
+            writer.start();
+        }
+        notifyAll();
+    }
+
+    /** Waits until every save made before this call has been written (or failed). */
+    public synchronized void flush() {
+        long target = requested;
+        if (written >= target) return;
+        flushing = true;
+        notifyAll();
+        boolean interrupted = false;
+        while (written < target && writer != null && writer.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /** Flushes and stops the writer thread. */
+    public void close() {
+        flush();
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    // ---------------- writer thread ----------------
+
+    private void run() {
+        while (true) {
+            Map<Path, Content> batch;
+            long covered;
+            synchronized (this) {
+                try {
+                    while (dirty.isEmpty() && !closed) wait();
+                    if (dirty.isEmpty()) return;   // closed and nothing left
+
+                    // let more changes pile up, unless someone is waiting for them
+                    long until = System.currentTimeMillis() + coalesceMillis;
+                    for (long left = coalesceMillis; left > 0 && !flushing && !closed; left = until - System.currentTimeMillis()) {
+                        wait(left);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                batch = new LinkedHashMap<>(dirty);
+                dirty.clear();
+                covered = requested;
+                flushing = false;
+            }
+
+            int failed = 0;
+            for (Map.Entry<Path, Content> e : batch.entrySet()) {
+                try {
+                    writeAtomically(e.getKey(), e.getValue().bytes());
+                } catch (IOException | RuntimeException ex) {
+                    System.err.println("[" + name + "] Could not save " + e.getKey().getFileName() + ": " + ex.getMessage());
+                    failed++;
+                }
+            }
+
+            synchronized (this) {
+                failures += failed;
+                written = covered;
+                notifyAll();
+            }
+        }
+    }
+
+    static void writeAtomically(Path file, ByteBuffer bytes) throws IOException {
+        // a sibling with normal permissions (createTempFile would make the result owner-only)
+        Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (bytes.hasRemaining()) ch.write(bytes);
+                ch.force(true);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(file.getParent());
+        } finally {
+            Files.deleteIfExists(tmp);   // only still there if something failed
+        }
+    }
+
+    // the rename only survives a power loss once the directory entry is on disk too (POSIX);
+    // Windows can't open a directory as a channel, and NTFS journals the rename with its metadata
+    private static void syncDirectory(Path dir) throws IOException {
+        if (dir == null || WINDOWS) return;
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        }
+    }
+}
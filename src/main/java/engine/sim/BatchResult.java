@@ -0,0 +1,83 @@
+package engine.sim;
+
+/**
+ * Merged outcome of a BatchSimulator run: score distribution, lengths, how games ended and throughput.
+ */
+public class BatchResult {
+
+    /** Outcome slots: one per GameSimulation.Event ordinal, plus games cut off at maxSteps. */
+    public static final int TIMEOUT = GameSimulation.Event.values().length;
+    public static final int OUTCOMES = TIMEOUT + 1;
+
+    private final int games;
+    private final int threads;
+    private final long elapsedNanos;
+    private final long totalSteps;
+    private final long totalFoods;
+    private final long totalPlayMillis;
+    private final int maxLength;
+    private final long[] scoreCounts;   // scoreCounts[s] = games that ended with s foods
+    private final long[] outcomes;
+
+    BatchResult(int games, int threads, long elapsedNanos, long totalSteps, long totalFoods,
+                long totalPlayMillis, int maxLength, long[] scoreCounts, long[] outcomes) {
+        this.games = games;
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+        this.totalSteps = totalSteps;
+        this.totalFoods = totalFoods;
+        this.totalPlayMillis = totalPlayMillis;
+        this.maxLength = maxLength;
+        this.scoreCounts = scoreCounts;
+        this.outcomes = outcomes;
+    }
+
+    public int getGames() { return games; }
+    public int getThreads() { return threads; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public long getTotalSteps() { return totalSteps; }
+    public int getMaxLength() { return maxLength; }
+
+    public double gamesPerSecond() { return games / (elapsedNanos / 1e9); }
+    public double stepsPerSecond() { return totalSteps / (elapsedNanos / 1e9); }
+    public double meanScore() { return games == 0 ? 0 : (double) totalFoods / games; }
+
+    /** Average on-screen length of a game in seconds, following the speed curve. */
+    public double meanPlaySeconds() { return games == 0 ? 0 : totalPlayMillis / 1000.0 / games; }
+
+    /** Games that ended with the given event. */
+    public long count(GameSimulation.Event end) { return outcomes[end.ordinal()]; }
+
+    /** Games still alive when the step limit cut them off. */
+    public long timeouts() { return outcomes[TIMEOUT]; }
+
+    /** Number of games that ended with exactly this many foods. */
+    public long scoreCount(int foods) { return foods < scoreCounts.length ? scoreCounts[foods] : 0; }
+
+    /** Smallest score s such that at least p (0..1) of all games scored s or less. */
+    public int scorePercentile(double p) {
+        long target = (long) Math.ceil(p * games);
+        long seen = 0;
+        for (int s = 0; s < scoreCounts.length; s++) {
+            seen += scoreCounts[s];
+            if (seen >= Math.max(1, target)) return s;
+        }
+        return scoreCounts.length - 1;
+    }
+
+    /** Multi-line human readable summary. */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("games: %d on %d threads in %.2fs  (%.0f games/s, %.0f steps/s)%n",
+                games, threads, elapsedNanos / 1e9, gamesPerSecond(), stepsPerSecond()));
+        sb.append(String.format("score: mean %.2f  p50 %d  p90 %d  p99 %d  max length %d%n",
+                meanScore(), scorePercentile(0.50), scorePercentile(0.90), scorePercentile(0.99), maxLength));
+        sb.append(String.format("play time: mean %.1fs per game%n", meanPlaySeconds()));
+        sb.append("ended by:");
+        for (GameSimulation.Event e : GameSimulation.Event.values()) {
+            if (e.endsGame()) sb.append(String.format("  %s %d", e, count(e)));
+        }
+        sb.append(String.format("  TIMEOUT %d%n", timeouts()));
+        return sb.toString();
+    }
+}
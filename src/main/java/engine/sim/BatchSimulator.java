@@ -0,0 +1,136 @@
+package engine.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays many seeded headless games in parallel on a ForkJoinPool.
+ *
+ * Game i always uses seed baseSeed + i, so a batch is reproducible whatever the thread count.
+ * Every worker owns its GameSimulation; results are folded into lock-free accumulators
+ * once per chunk of games, so workers never contend inside the game loop.
+ */
+public class BatchSimulator {
+
+    private static final int CHUNK = 64; // games per leaf task
+
+    private int cols = 18, rows = 13;
+    private boolean wrap = false;
+    private long baseSeed = 1L;
+    private double flipChance = GameSimulation.DEFAULT_FLIP_CHANCE;
+    private int maxSteps = 20_000;   // games still running after this many moves count as timed out
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Policy policy = new GreedyPolicy();
+
+    public BatchSimulator board(int cols, int rows, boolean wrap) {
+        this.cols = cols;
+        this.rows = rows;
+        this.wrap = wrap;
+        return this;
+    }
+
+    public BatchSimulator seed(long baseSeed) { this.baseSeed = baseSeed; return this; }
+    public BatchSimulator flipChance(double flipChance) { this.flipChance = flipChance; return this; }
+    public BatchSimulator maxSteps(int maxSteps) { this.maxSteps = maxSteps; return this; }
+    public BatchSimulator parallelism(int threads) { this.parallelism = Math.max(1, threads); return this; }
+    public BatchSimulator policy(Policy policy) { this.policy = policy; return this; }
+
+    /** Plays games [0, games) and blocks until all are done. */
+    public BatchResult run(int games) {
+        Accumulators acc = new Accumulators(cols * rows + 1);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new Shard(acc, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        return acc.snapshot(games, System.nanoTime() - start, parallelism);
+    }
+
+    // plays one game to the end (or maxSteps) and records it into the worker-local tally
+    private void play(int game, Tally tally) {
+        GameSimulation sim = new GameSimulation(cols, rows, wrap, baseSeed + game);
+        sim.setFlipChance(flipChance);
+
+        while (!sim.isOver() && sim.getSteps() < maxSteps) {
+            sim.step(policy.choose(sim));
+        }
+
+        int score = sim.getFoodsEaten();
+        tally.scores[Math.min(score, tally.scores.length - 1)]++;
+        tally.steps += sim.getSteps();
+        tally.foods += score;
+        tally.playMillis += (long) (sim.getPlayTime() * 1000);
+        tally.maxLength = Math.max(tally.maxLength, sim.getSnake().size());
+        tally.outcomes[sim.isOver() ? sim.getLastEvent().ordinal() : BatchResult.TIMEOUT]++;
+    }
+
+    private final class Shard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Accumulators acc;
+        private final int from, to;
+
+        Shard(Accumulators acc, int from, int to) {
+            this.acc = acc;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Shard(acc, from, mid), new Shard(acc, mid, to));
+                return;
+            }
+            Tally tally = new Tally(acc.scores.length());
+            for (int g = from; g < to; g++) play(g, tally);
+            acc.merge(tally);
+        }
+    }
+
+    // plain per-chunk counters, only touched by the worker running the chunk
+    private static final class Tally {
+        final long[] scores;
+        final long[] outcomes = new long[BatchResult.OUTCOMES];
+        long steps, foods, playMillis;
+        int maxLength;
+
+        Tally(int scoreBuckets) { scores = new long[scoreBuckets]; }
+    }
+
+    // shared results; LongAdder/atomic arrays so merges from many workers never lock
+    private static final class Accumulators {
+        final AtomicLongArray scores;
+        final AtomicLongArray outcomes = new AtomicLongArray(BatchResult.OUTCOMES);
+        final LongAdder steps = new LongAdder();
+        final LongAdder foods = new LongAdder();
+        final LongAdder playMillis = new LongAdder();
+        final LongAccumulator maxLength = new LongAccumulator(Math::max, 0);
+
+        Accumulators(int scoreBuckets) { scores = new AtomicLongArray(scoreBuckets); }
+
+        void merge(Tally t) {
+            for (int i = 0; i < t.scores.length; i++) if (t.scores[i] != 0) scores.addAndGet(i, t.scores[i]);
+            for (int i = 0; i < t.outcomes.length; i++) if (t.outcomes[i] != 0) outcomes.addAndGet(i, t.outcomes[i]);
+            steps.add(t.steps);
+            foods.add(t.foods);
+            playMillis.add(t.playMillis);
+            maxLength.accumulate(t.maxLength);
+        }
+
+        BatchResult snapshot(int games, long nanos, int threads) {
+            long[] s = new long[scores.length()];
+            for (int i = 0; i < s.length; i++) s[i] = scores.get(i);
+            long[] o = new long[outcomes.length()];
+            for (int i = 0; i < o.length; i++) o[i] = outcomes.get(i);
+            return new BatchResult(games, threads, nanos, steps.sum(), foods.sum(), playMillis.sum(),
+                    (int) maxLength.get(), s, o);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package engine.sim;
+
+import entity.CollisionHandler;
+import entity.Food;
+import entity.FreeCellIndex;
+import entity.Snake;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gameplay rules with no display, sound or file I/O attached: owns the snake, food,
+ * walls and collision checks, and advances one snake move per step().
+ * GameScreen drives it on a timer and turns the returned events into effects;
+ * headless runners can call step() as fast as they like.
+ *
+ * All randomness comes from the session generator handed in, split into one stream for
+ * food and one for flips, so the same seed and the same inputs replay the same game.
+ */
+public class GameSimulation {
+
+    /** What happened during one step. */
+    public enum Event {
+        NONE,        // moved into an empty cell
+        ATE_FOOD,    // ate, grew and food respawned
+        REVERSED,    // ate food and the surprise flip turned the snake around
+        HIT_WALL,
+        HIT_SELF,
+        BOARD_FULL;  // ate the last reachable food - nothing left to spawn (a win)
+
+        public boolean ate() { return this == ATE_FOOD || this == REVERSED || this == BOARD_FULL; }
+        public boolean endsGame() { return this == HIT_WALL || this == HIT_SELF || this == BOARD_FULL; }
+    }
+
+    // speed curve: each 5 foods -> 1 level faster
+    public static final double BASE_INTERVAL = 0.25;       // seconds between moves at start
+    public static final double PER_LEVEL_DECREASE = 0.03;  // how much faster each level
+    public static final double MIN_INTERVAL = 0.10;        // fastest allowed
+    public static final int FOODS_PER_LEVEL = 5;
+
+    // surprise head-flip
+    public static final double DEFAULT_FLIP_CHANCE = 0.20; // chance each time food is eaten
+    public static final int FLIP_MIN_FOODS = 3;            // not to flip for the first 2 foods
+
+    private final int cols, rows;
+    private final boolean wrap;
+    private final SplittableRandom foodRng;
+    private final SplittableRandom flipRng;
+    private final CollisionHandler collider = new CollisionHandler();
+    private double flipChance = DEFAULT_FLIP_CHANCE;
+
+    private boolean[][] walls;
+    private int mapVersion;        // bumped whenever the walls change, so renderers can cache the map
+    private FreeCellIndex freeCells;
+    private Snake snake;
+    private Food food;
+
+    private int foodsEaten;
+    private int steps;
+    private double playTime;      // seconds of real play the steps so far would take
+    private double moveInterval;
+    private Event lastEvent = Event.NONE;
+
+    public GameSimulation(int cols, int rows, boolean wrap, long seed) {
+        this(cols, rows, wrap, new SplittableRandom(seed));
+    }
+
+    /** Simulation drawing from (splits of) the given session generator. */
+    public GameSimulation(int cols, int rows, boolean wrap, SplittableRandom session) {
+        this.cols = cols;
+        this.rows = rows;
+        this.wrap = wrap;
+        this.foodRng = session.split();
+        this.flipRng = session.split();
+        reset();
+    }
+
+    /** Starts a fresh game on the same board. */
+    public void reset() {
+        snake = new Snake(cols, rows);
+        buildMapEasy();
+        ensureSafeStartDirection();
+        freeCells = new FreeCellIndex(walls, cols, rows);
+        snake.attach(freeCells);
+        food = new Food(foodRng);
+        food.respawn(freeCells);
+
+        foodsEaten = 0;
+        steps = 0;
+        playTime = 0.0;
+        moveInterval = BASE_INTERVAL;
+        lastEvent = Event.NONE;
+    }
+
+    /**
+     * Turns towards dir (null keeps the current heading; U-turns are ignored), moves one cell
+     * and applies the result. Once the game is over this does nothing and returns the final event.
+     */
+    public Event step(Snake.Direction dir) {
+        if (isOver()) return lastEvent;
+
+        if (dir != null) snake.setDirection(dir);
+        snake.move();
+        steps++;
+        playTime += moveInterval;
+
+        CollisionHandler.Result r = collider.check(snake, food, walls, wrap, cols, rows);
+        switch (r) {
+            case ATE_FOOD:
+                snake.grow();
+                foodsEaten++;
+                if (!food.respawn(freeCells)) {
+                    lastEvent = Event.BOARD_FULL;
+                    break;
+                }
+                updateSpeedBasedOnLength();
+                lastEvent = maybeFlipSnake() ? Event.REVERSED : Event.ATE_FOOD;
+                break;
+            case HIT_WALL:
+                lastEvent = Event.HIT_WALL;
+                break;
+            case HIT_SELF:
+                lastEvent = Event.HIT_SELF;
+                break;
+            default:
+                lastEvent = Event.NONE;
+        }
+        return lastEvent;
+    }
+
+    public boolean isOver() { return lastEvent.endsGame(); }
+
+    public Event getLastEvent() { return lastEvent; }
+    public Snake getSnake() { return snake; }
+    public Food getFood() { return food; }
+    public boolean[][] getWalls() { return walls; }
+
+    /** Changes every time the walls are rebuilt; cached map images compare against it. */
+    public int getMapVersion() { return mapVersion; }
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+    public int getFoodsEaten() { return foodsEaten; }
+    public int getSteps() { return steps; }
+
+    /** Seconds the game so far would have lasted on screen at the speed curve's pace. */
+    public double getPlayTime() { return playTime; }
+
+    /** Seconds between snake moves at the current speed level. */
+    public double getMoveInterval() { return moveInterval; }
+
+    public double getFlipChance() { return flipChance; }
+    public void setFlipChance(double flipChance) { this.flipChance = flipChance; }
+
+    // --- simple environment presets (easy). Others can be added later.
+    private void buildMapEasy() {
+        mapVersion++;
+        walls = new boolean[cols][rows];
+        if (!wrap) {
+            for (int x = 0; x < cols; x++) { walls[x][0] = true; walls[x][rows - 1] = true; }
+            for (int y = 0; y < rows; y++) { walls[0][y] = true; walls[cols - 1][y] = true; }
+        }
+    }
+
+    // making sure the starting direction does NOT point into a wall
+    private void ensureSafeStartDirection() {
+        int x = snake.xAt(0);
+        int y = snake.yAt(0);
+
+        // try directions in a reasonable order: first one inside the board and not a wall will be used
+        if (isFreeCell(x + 1, y)) {
+            snake.setDirection(Snake.Direction.RIGHT);
+            return;
+        }
+        if (isFreeCell(x - 1, y)) {
+            snake.setDirection(Snake.Direction.LEFT);
+            return;
+        }
+        if (isFreeCell(x, y - 1)) {
+            snake.setDirection(Snake.Direction.UP);
+            return;
+        }
+        if (isFreeCell(x, y + 1)) {
+            snake.setDirection(Snake.Direction.DOWN);
+        }
+    }
+
+    // helper: is a given cell inside the board and not a wall?
+    private boolean isFreeCell(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) return false;
+        return !walls[x][y];
+    }
+
+    // adjusting speed of snake for every 5 foods eaten
+    private void updateSpeedBasedOnLength() {
+        int levels = foodsEaten / FOODS_PER_LEVEL;      // 0,1,2,3,...
+        moveInterval = Math.max(MIN_INTERVAL, BASE_INTERVAL - levels * PER_LEVEL_DECREASE);
+    }
+
+    private boolean maybeFlipSnake() {
+        if (foodsEaten < FLIP_MIN_FOODS) return false;
+        if (flipRng.nextDouble() >= flipChance) return false;
+
+        snake.reverse();   // flip head and tail
+        return true;
+    }
+}
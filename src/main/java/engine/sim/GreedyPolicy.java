@@ -0,0 +1,53 @@
+package engine.sim;
+
+import entity.Snake;
+
+/**
+ * Simple bot: heads for the food along the shortest safe neighbour cell,
+ * and only runs into something when no safe cell is left.
+ */
+public class GreedyPolicy implements Policy {
+
+    private static final Snake.Direction[] DIRS = Snake.Direction.values();
+
+    @Override
+    public Snake.Direction choose(GameSimulation sim) {
+        Snake snake = sim.getSnake();
+        int hx = snake.xAt(0), hy = snake.yAt(0);
+        int fx = sim.getFood().getX(), fy = sim.getFood().getY();
+
+        Snake.Direction best = null;
+        int bestDist = Integer.MAX_VALUE;
+        for (Snake.Direction d : DIRS) {
+            int nx = hx + dx(d), ny = hy + dy(d);
+            if (!isSafe(sim, nx, ny)) continue;
+
+            int dist = Math.abs(fx - nx) + Math.abs(fy - ny);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = d;
+            }
+        }
+        return best; // null: boxed in, keep going and take the hit
+    }
+
+    private static boolean isSafe(GameSimulation sim, int x, int y) {
+        if (x < 0 || y < 0 || x >= sim.getCols() || y >= sim.getRows()) return false;
+        if (sim.getWalls()[x][y]) return false;
+        if (!sim.getSnake().occupies(x, y)) return true;
+
+        // the tail cell frees up on this move, unless a grown copy is still stacked on it
+        Snake snake = sim.getSnake();
+        int last = snake.size() - 1;
+        return snake.xAt(last) == x && snake.yAt(last) == y
+                && (snake.xAt(last - 1) != x || snake.yAt(last - 1) != y);
+    }
+
+    static int dx(Snake.Direction d) {
+        return d == Snake.Direction.RIGHT ? 1 : d == Snake.Direction.LEFT ? -1 : 0;
+    }
+
+    static int dy(Snake.Direction d) {
+        return d == Snake.Direction.DOWN ? 1 : d == Snake.Direction.UP ? -1 : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package engine.sim;
+
+import entity.Snake;
+
+/**
+ * Picks the heading for the next step of a headless game.
+ * Implementations are called from worker threads, so keep them stateless
+ * (or give each game its own instance).
+ */
+public interface Policy {
+    /** Direction to turn before the next move, or null to keep going straight. */
+    Snake.Direction choose(GameSimulation sim);
+}
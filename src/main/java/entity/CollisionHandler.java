@@ -19,8 +19,7 @@ public class CollisionHandler {
 
         if (walls != null && walls[x][y]) return Result.HIT_WALL;
 
-        for (Segment s : snake.getBody())
-            if (s.getX()==x && s.getY()==y) return Result.HIT_SELF;
+        if (snake.headOverlapsBody()) return Result.HIT_SELF;
 
         if (food != null && food.getX()==x && food.getY()==y) return Result.ATE_FOOD;
 
@@ -1,18 +1,57 @@
 package entity;
 
 import java.awt.Graphics;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Food {
+    private static final int RANDOM_TRIES = 32; // cheap guesses before falling back to a full scan
+
     private int x, y;
-    private final Random rng = new Random();
+    private final RandomGenerator rng;
+
+    public Food() { this(new SplittableRandom()); }
+
+    /** Food drawing spawn positions from the given generator (seeded runs are reproducible). */
+    public Food(RandomGenerator rng) { this.rng = rng; }
 
     public int getX(){ return x; }
     public int getY(){ return y; }
 
-    public void respawn(boolean[][] walls, Snake snake, int cols, int rows) {
-        do { x = rng.nextInt(cols); y = rng.nextInt(rows); }
-        while ((walls!=null && walls[x][y]) || snake.occupies(x, y));
+    /**
+     * Moves the food to a random cell that is not a wall and not under the snake.
+     * Returns false (and leaves the food where it is) when no such cell is left.
+     */
+    public boolean respawn(boolean[][] walls, Snake snake, int cols, int rows) {
+        for (int i = 0; i < RANDOM_TRIES; i++) {
+            int cx = rng.nextInt(cols), cy = rng.nextInt(rows);
+            if (isFree(walls, snake, cx, cy)) { setPosition(cx, cy); return true; }
+        }
+
+        // crowded board: count the free cells and pick one of them uniformly
+        int free = 0;
+        for (int cx = 0; cx < cols; cx++)
+            for (int cy = 0; cy < rows; cy++)
+                if (isFree(walls, snake, cx, cy)) free++;
+        if (free == 0) return false;
+
+        int pick = rng.nextInt(free);
+        for (int cx = 0; cx < cols; cx++)
+            for (int cy = 0; cy < rows; cy++)
+                if (isFree(walls, snake, cx, cy) && pick-- == 0) { setPosition(cx, cy); return true; }
+        return false;
+    }
+
+    /** O(1) respawn from a free-cell index. Returns false when the board is full. */
+    public boolean respawn(FreeCellIndex freeCells) {
+        int id = freeCells.randomCell(rng);
+        if (id < 0) return false;
+        setPosition(id % freeCells.getCols(), id / freeCells.getCols());
+        return true;
+    }
+
+    private static boolean isFree(boolean[][] walls, Snake snake, int x, int y) {
+        return !(walls != null && walls[x][y]) && !snake.occupies(x, y);
     }
 
     public void render(Graphics g, int unit) {
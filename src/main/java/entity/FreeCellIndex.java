@@ -0,0 +1,86 @@
+package entity;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Set of board cells that are neither wall nor snake, kept as a dense array of cell ids
+ * plus a position map so block/release are O(1) swap-removes and a uniform random
+ * free cell can be picked in O(1) no matter how full the board is.
+ *
+ * Cell ids are y * cols + x. Attach it to a Snake (Snake.attach) to keep it in step with moves.
+ */
+public class FreeCellIndex {
+    private final int cols, rows;
+    private final int[] free;    // free[0..count) = free cell ids, in no particular order
+    private final int[] pos;     // cell id -> index in free[], or -1 when the cell is taken
+    private final boolean[] wall;
+    private int count;
+
+    public FreeCellIndex(boolean[][] walls, int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        this.free = new int[cols * rows];
+        this.pos = new int[cols * rows];
+        this.wall = new boolean[cols * rows];
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                int id = y * cols + x;
+                if (walls != null && walls[x][y]) {
+                    wall[id] = true;
+                    pos[id] = -1;
+                } else {
+                    pos[id] = count;
+                    free[count++] = id;
+                }
+            }
+        }
+    }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    /** Number of free cells left. */
+    public int size() { return count; }
+
+    /** True once every non-wall cell is covered. */
+    public boolean isFull() { return count == 0; }
+
+    public boolean isFree(int x, int y) {
+        return inside(x, y) && pos[y * cols + x] >= 0;
+    }
+
+    /** Marks a cell as taken. Cells off the board or already taken are ignored. */
+    public void block(int x, int y) {
+        if (!inside(x, y)) return;
+        int id = y * cols + x;
+        int i = pos[id];
+        if (i < 0) return;
+
+        // swap the last free cell into the hole
+        int last = free[--count];
+        free[i] = last;
+        pos[last] = i;
+        pos[id] = -1;
+    }
+
+    /** Marks a cell as free again. Walls and cells off the board stay taken. */
+    public void release(int x, int y) {
+        if (!inside(x, y)) return;
+        int id = y * cols + x;
+        if (wall[id] || pos[id] >= 0) return;
+
+        pos[id] = count;
+        free[count++] = id;
+    }
+
+    /** Uniformly random free cell id, or -1 if the board is full. */
+    public int randomCell(RandomGenerator rng) {
+        if (count == 0) return -1;
+        return free[rng.nextInt(count)];
+    }
+
+    private boolean inside(int x, int y) {
+        return x >= 0 && x < cols && y >= 0 && y < rows;
+    }
+}
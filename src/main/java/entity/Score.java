@@ -13,9 +13,14 @@ public class Score implements Serializable, Comparable<Score> {
     private long timestamp;
 
     public Score(String playerName, int foodsEaten) {
+        this(playerName, foodsEaten, System.currentTimeMillis());
+    }
+
+    // for scores read back from disk
+    public Score(String playerName, int foodsEaten, long timestamp) {
         this.playerName = playerName;
         this.foodsEaten = foodsEaten;
-        this.timestamp = System.currentTimeMillis();
+        this.timestamp = timestamp;
     }
 
     // Getters
@@ -2,34 +2,157 @@
 package entity;
 
 import java.awt.Graphics;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Collections;
 
 public class Snake {
     public enum Direction { UP, DOWN, LEFT, RIGHT }
 
-    private final List<Segment> segments = new ArrayList<>();
+    private static final int INITIAL_CAPACITY = 16; // must be a power of two
+
+    // board used by new Snake(); matches the standard 864x624 screen at 48px tiles
+    public static final int DEFAULT_COLS = 18, DEFAULT_ROWS = 13;
+
+    // body is a circular buffer of packed cells (see pack()), so move/grow/reverse never touch the whole body
+    private int[] cells = new int[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int head;       // slot holding the head
+    private int length;     // number of segments including the head
+    private int step = 1;   // +1 or -1: which way the head advances in the buffer (flipped by reverse)
+
+    // occupancy bitmap over the board (bit y*cols+x), kept in step with the buffer.
+    // Segments only share a cell right after grow() (new tail on old tail) or when the head runs into
+    // the body, which ends the game; cells off the board are counted in 'outside' and scanned on demand.
+    private final int cols, rows;
+    private final long[] occupied;
+    private int outside;
+    private boolean headOnBody;  // head entered a cell the body already held
+    private FreeCellIndex freeCells;  // optional, mirrors every occupancy change
+
     private Direction direction = Direction.RIGHT;
 
-    public Snake() { initializeSnake(); }
+    public Snake() { this(DEFAULT_COLS, DEFAULT_ROWS); }
+
+    public Snake(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        this.occupied = new long[(cols * rows + 63) >>> 6];
+        initializeSnake();
+    }
 
     public void initializeSnake() {
         direction = Direction.RIGHT;
-        segments.clear();
-        segments.add(new Segment(1,3));
-        segments.add(new Segment(1,2));
-        segments.add(new Segment(1,1));
+        step = 1;
+        length = 3;
+        head = 2;
+        cells[2] = pack(1, 3);
+        cells[1] = pack(1, 2);
+        cells[0] = pack(1, 1);
+        rebuildOccupancy();
     }
 
-    public Segment getHead() { return segments.get(0); }
-    public List<Segment> getBody() { return segments.subList(1, segments.size()); }
+    // ---- packed cell helpers: x in the high 16 bits, y in the low 16 bits (both signed) ----
+    static int pack(int x, int y) { return (x << 16) | (y & 0xFFFF); }
+    static int unpackX(int cell) { return cell >> 16; }
+    static int unpackY(int cell) { return (short) cell; }
+
+    // buffer slot of the i-th segment (0 = head)
+    private int slotOf(int i) { return (head - i * step) & mask; }
+
+    /** Number of segments including the head. */
+    public int size() { return length; }
+
+    /** X of the i-th segment (0 = head), without allocating a Segment view. */
+    public int xAt(int i) { return unpackX(cells[slotOf(i)]); }
+
+    /** Y of the i-th segment (0 = head), without allocating a Segment view. */
+    public int yAt(int i) { return unpackY(cells[slotOf(i)]); }
+
+    /**
+     * Head as a lightweight view onto the buffer. Writes go straight into the snake.
+     * A view stays bound to its buffer slot, so re-fetch it after move() or grow().
+     */
+    public Segment getHead() { return new Cell(head); }
+
+    /** Live view of every segment except the head (see getHead() for view semantics). */
+    public List<Segment> getBody() { return body; }
 
     public boolean occupies(int x, int y) {
-        for (Segment s : segments) if (s.getX()==x && s.getY()==y) return true;
+        if (x >= 0 && x < cols && y >= 0 && y < rows) {
+            int bit = y * cols + x;
+            return (occupied[bit >>> 6] & (1L << bit)) != 0;
+        }
+        if (outside == 0) return false;
+        int c = pack(x, y);
+        for (int i = 0; i < length; i++) if (cells[slotOf(i)] == c) return true;
         return false;
     }
 
+    /** True when the head moved (or was placed) onto a cell held by the rest of the body. O(1). */
+    public boolean headOverlapsBody() {
+        return headOnBody;
+    }
+
+    /**
+     * Keeps the given index in step with this snake from now on: every cell the snake
+     * currently covers is blocked, and later moves block/release cells as they happen.
+     */
+    public void attach(FreeCellIndex index) {
+        freeCells = index;
+        if (index == null) return;
+        for (int i = 0; i < length; i++) index.block(xAt(i), yAt(i));
+    }
+
+    // ---- occupancy bookkeeping ----
+    private void mark(int cell) {
+        int x = unpackX(cell), y = unpackY(cell);
+        if (x >= 0 && x < cols && y >= 0 && y < rows) {
+            int bit = y * cols + x;
+            occupied[bit >>> 6] |= 1L << bit;
+            if (freeCells != null) freeCells.block(x, y);
+        } else {
+            outside++;
+        }
+    }
+
+    private void unmark(int cell) {
+        int x = unpackX(cell), y = unpackY(cell);
+        if (x >= 0 && x < cols && y >= 0 && y < rows) {
+            int bit = y * cols + x;
+            occupied[bit >>> 6] &= ~(1L << bit);
+            if (freeCells != null) freeCells.release(x, y);
+        } else {
+            outside--;
+        }
+    }
+
+    // places the head on 'cell', recording whether the body was already there
+    private void markHead(int cell) {
+        headOnBody = occupies(unpackX(cell), unpackY(cell));
+        mark(cell);
+    }
+
+    // O(length) fallback for arbitrary writes to body segments
+    private void rebuildOccupancy() {
+        if (freeCells != null) {
+            for (int w = 0; w < occupied.length; w++) {
+                for (long bits = occupied[w]; bits != 0; bits &= bits - 1) {
+                    int bit = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    freeCells.release(bit % cols, bit / cols);
+                }
+            }
+        }
+        Arrays.fill(occupied, 0L);
+        outside = 0;
+        headOnBody = false;
+        for (int i = length - 1; i > 0; i--) {
+            int c = cells[slotOf(i)];
+            if (!occupies(unpackX(c), unpackY(c))) mark(c);
+        }
+        markHead(cells[head]);
+    }
+
     public void setDirection(Direction newDir) {
         if (!isOpposite(direction, newDir)) direction = newDir;
     }
@@ -39,28 +162,44 @@ public class Snake {
     }
 
     public void move() {
-        int headX = segments.get(0).getX();
-        int headY = segments.get(0).getY();
+        int headX = unpackX(cells[head]);
+        int headY = unpackY(cells[head]);
         switch (direction) {
             case UP:    headY--; break;
             case DOWN:  headY++; break;
             case LEFT:  headX--; break;
             case RIGHT: headX++; break;
         }
-        for (int i = segments.size()-1; i>0; i--) {
-            segments.get(i).set_Position(segments.get(i-1).getX(), segments.get(i-1).getY());
-        }
-        segments.get(0).set_Position(headX, headY);
+        // free the tail first (the head may legally follow it), unless a grown copy still sits there
+        int tail = cells[slotOf(length - 1)];
+        if (length == 1 || cells[slotOf(length - 2)] != tail) unmark(tail);
+
+        // the slot in front of the head is either free or the old tail, which drops off anyway
+        head = (head + step) & mask;
+        cells[head] = pack(headX, headY);
+        markHead(cells[head]);
     }
 
     public void grow() {
-        Segment tail = segments.get(segments.size()-1);
-        segments.add(new Segment(tail.getX(), tail.getY()));
+        if (length == cells.length) resize();
+        int tail = cells[slotOf(length - 1)];
+        length++;
+        cells[slotOf(length - 1)] = tail; // new tail sits on the old one
+    }
+
+    // doubles the buffer, laying segments out tail-first so that head = length-1 and step = +1
+    private void resize() {
+        int[] bigger = new int[cells.length * 2];
+        for (int i = 0; i < length; i++) bigger[length - 1 - i] = cells[slotOf(i)];
+        cells = bigger;
+        mask = bigger.length - 1;
+        head = length - 1;
+        step = 1;
     }
 
     public void rendering(Graphics g, int unitSize) {
-        for (Segment s : segments) {
-            g.fillOval(s.getX()*unitSize, s.getY()*unitSize, unitSize, unitSize);
+        for (int i = 0; i < length; i++) {
+            g.fillOval(xAt(i)*unitSize, yAt(i)*unitSize, unitSize, unitSize);
         }
     }
 
@@ -71,17 +210,19 @@ public class Snake {
 
     public void reverse() {
         // nothing to do for length 0–1
-        if (segments.size() <= 1) return;
+        if (length <= 1) return;
 
-        // Reverse the order of the segment list so tail becomes head
-        Collections.reverse(segments);
+        // Tail becomes head: point head at the old tail slot and walk the buffer the other way
+        head = slotOf(length - 1);
+        step = -step;
+        headOnBody = false; // old tail only shares its cell with a grown copy right behind it
 
         // After reversing, set the direction so the head will continue along the body rather than into it.
-        Segment head = segments.get(0);   // new head (old tail)
-        Segment neck = segments.get(1);   // second segment
-
-        int dx = neck.getX() - head.getX();
-        int dy = neck.getY() - head.getY();
+        // Skip grown copies stacked on the old tail, otherwise the neck sits on the head and gives no direction.
+        int n = 1;
+        while (n < length - 1 && cells[slotOf(n)] == cells[head]) n++;
+        int dx = xAt(n) - xAt(0);
+        int dy = yAt(n) - yAt(0);
 
         if (dx == 1) {
             // neck is to the RIGHT of head, so we must move LEFT
@@ -98,7 +239,45 @@ public class Snake {
         }
     }
 
+    // Segment view bound to one buffer slot
+    private final class Cell extends Segment {
+        private final int slot;
+
+        Cell(int slot) {
+            super(0, 0);
+            this.slot = slot;
+        }
+
+        @Override
+        public void set_Position(int x, int y) {
+            if (slot != head) {
+                cells[slot] = pack(x, y);
+                rebuildOccupancy();
+                return;
+            }
+            // head relocation (e.g. wrap-around) stays O(1)
+            int old = cells[slot];
+            if (!headOnBody && (length == 1 || cells[slotOf(1)] != old)) unmark(old);
+            cells[slot] = pack(x, y);
+            markHead(cells[slot]);
+        }
+
+        @Override
+        public int getX() { return unpackX(cells[slot]); }
 
+        @Override
+        public int getY() { return unpackY(cells[slot]); }
+    }
+
+    private final List<Segment> body = new AbstractList<Segment>() {
+        @Override
+        public Segment get(int i) {
+            if (i < 0 || i >= length - 1) throw new IndexOutOfBoundsException("Index: " + i);
+            return new Cell(slotOf(i + 1));
+        }
 
+        @Override
+        public int size() { return length - 1; }
+    };
 
 }
@@ -9,12 +9,11 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Rectangle2D;
 import engine.SpriteLoader;
+import engine.FontRegistry;
 import java.awt.image.BufferedImage;
 import java.awt.RenderingHints;
 
 import java.awt.Font;
-import java.io.FileInputStream;
-import java.io.InputStream;
 import java.awt.geom.Rectangle2D;
 
 
@@ -40,19 +39,18 @@ public class GameOverScreen implements Screen, MouseListener {
         loadFonts();
         initButtons();
 
-        stoneTile = SpriteLoader.load("resources/sprites/button.png");
-        gameOverBackground = SpriteLoader.load("resources/backgrounds/end.jpg");
+        // pre-scaled to the size they are drawn at (both buttons share one size)
+        stoneTile = SpriteLoader.load("resources/sprites/button.png", retryBtn.width, retryBtn.height);
+        gameOverBackground = SpriteLoader.load("resources/backgrounds/end.jpg", Core.WIDTH, Core.HEIGHT);
     }
 
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            titleFont  = base.deriveFont(Font.BOLD, 80f);  // "GAME OVER"
-            buttonFont = base.deriveFont(Font.PLAIN, 26f); // buttons
-        } catch (Exception e) {
-            titleFont  = new Font("Arial", Font.BOLD, 80);
-            buttonFont = new Font("Arial", Font.PLAIN, 26);
-        }
+        titleFont  = FontRegistry.get(FontRegistry.ALAGARD, Font.BOLD, 80f, new Font("Arial", Font.BOLD, 80));   // "GAME OVER"
+        buttonFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 26f, new Font("Arial", Font.PLAIN, 26)); // buttons
+
+        // built on a loader thread: rasterise the fixed text here, not in the first game-over frame
+        FontRegistry.prewarm(titleFont, "GAME OVER");
+        FontRegistry.prewarm(buttonFont, "Play Again", "Main Menu");
     }
 
 
@@ -84,6 +82,9 @@ public class GameOverScreen implements Screen, MouseListener {
     public void update(double dt) { // no per-frame logic for now
     }
 
+    @Override
+    public boolean isAnimating() { return false; } // static picture
+
     @Override
     public void render(Graphics2D g) {
         // keep pixel art crisp
@@ -94,7 +95,7 @@ public class GameOverScreen implements Screen, MouseListener {
 
         // background image
         if (gameOverBackground != null) {
-            g.drawImage(gameOverBackground, 0, 0, Core.WIDTH, Core.HEIGHT, null);
+            g.drawImage(gameOverBackground, 0, 0, null);
         } else {
             g.setColor(Color.BLACK);
             g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
@@ -124,11 +125,7 @@ public class GameOverScreen implements Screen, MouseListener {
 
         // draw stone tile background
         if (stoneTile != null) {
-            g.drawImage(stoneTile,
-                    rect.x, rect.y,
-                    rect.x + rect.width, rect.y + rect.height,
-                    0, 0, stoneTile.getWidth(), stoneTile.getHeight(),
-                    null);
+            g.drawImage(stoneTile, rect.x, rect.y, null); // pre-scaled to the button size
         } else {
             g.setColor(new Color(40, 40, 40, 220));
             g.fill(rect);
@@ -5,18 +5,19 @@ import engine.GameStates;
 import engine.StateMachine;
 import engine.InputManager;
 import engine.FileManager;
+import engine.sim.GameSimulation;
 import entity.*;
 import engine.SoundManager; // <-- added this for sound
 import javax.swing.SwingUtilities;
 import javax.swing.JOptionPane;
 import engine.SpriteLoader;
+import engine.Scheduler;
+import engine.FontRegistry;
 import java.awt.image.BufferedImage;
 import java.awt.RenderingHints;
-import java.util.List;
+import java.util.SplittableRandom;
 
 import java.awt.Font;
-import java.io.FileInputStream;
-import java.io.InputStream;
 
 import java.awt.*;
 
@@ -39,17 +40,42 @@ public class GameScreen implements Screen { // implementing screen base
     private BufferedImage backgroundSprite;
     private BufferedImage wallSprite;
     private Font hudFont;
+    private Font flipFont;   // flip warning, derived once (was derived every frame)
+    private static final String FLIP_MESSAGE = "THE SNAKE REVERSED!";
+    private static final String FOODS_LABEL = "Foods: ";
+
+    // HUD / overlay text from cached glyph images, so render() builds no strings
+    private HudText hudText;
+    private HudText flipText;
+
+    // shared colours, so render() doesn't allocate them every frame
+    private static final Color WALL_FALLBACK = new Color(40, 40, 40);
+    private static final Color HUD_GREEN = new Color(120, 255, 120);   // matching the green titles
 
     private final int unit = 48;
     private final int cols = Core.WIDTH / unit;
     private final int rows = Core.HEIGHT / unit;
 
+    // translucent fills as cached tiles (translucent fillRect allocates on the software pipeline)
+    private final Shade hudBar = new Shade(new Color(0, 0, 0, 190), Core.WIDTH, unit);
+    private final Shade glitchLine = new Shade(new Color(255, 255, 255, 50), Core.WIDTH, 2);
+    private final Shade flipOverlay = new Shade(new Color(0, 0, 0, 150), Core.WIDTH, unit);
+
     private final  boolean wrap = false; // set false for border walls
-    private boolean[][] walls;             // environment grid
-    private final CollisionHandler collider = new CollisionHandler();
 
-    private Snake snake;
+    // gameplay rules live in the simulation; this screen adds timing, sound and effects on top
+    private GameSimulation sim;
+    private Snake snake;                   // current game's snake/food, cached from sim for rendering
     private Food food;
+    private boolean[][] walls;             // environment grid
+
+    // background tiles + walls, painted once per map instead of ~200 drawImage calls per frame
+    private final StaticLayer mapLayer = new StaticLayer(Core.WIDTH, Core.HEIGHT, this::paintMapLayer);
+    private int mapLayerVersion = -1;
+
+    // per-session randomness, all split from one seed (setting "rng_seed", "random" = new seed each game)
+    private SplittableRandom effectsRng;   // blackout / random event rolls in update()
+    private SplittableRandom renderRng;    // shake offsets + glitch lines; kept apart so frame rate can't shift update()
 
     // --- Screen Shake ---
     private double shakeTime = 0.0;
@@ -60,33 +86,35 @@ public class GameScreen implements Screen { // implementing screen base
     private double glitchTime = 0.0;
     private final double glitchDuration = 0.25;  // glitch lasts 0.25s
 
+    // timed effects run on the game thread (see Scheduler), tasks are created once below:
+    // effectTimers always tick, playTimers only while actually playing (frozen when paused / ending)
+    private final Scheduler effectTimers = new Scheduler(8);
+    private final Scheduler playTimers = new Scheduler(8);
+
     // --- surprise head-flip message ---
-    private double flipMessageTime = 0.0;   // seconds to show "SNAKE REVERSED!"
+    private boolean flipMessageShown;       // "SNAKE REVERSED!" on screen
+    private long flipMessageTimer = Scheduler.NONE;
+    private final Runnable hideFlipMessage = () -> flipMessageShown = false;
 
     // --- random micro shake/glitch event ---
-    private double randomEventTimer = 0.0;  // counts down to next random event
+    private final Runnable randomEvent = this::randomEvent;
 
     // --- random blackout glitch ---
-    private double blackoutTime = 0.0;        // how long screen stays black (seconds)
-    private double nextBlackoutTimer = 0.0;   // countdown until next possible blackout
+    private boolean blackout;               // screen stays black while set
+    private long blackoutTimer = Scheduler.NONE;
+    private final Runnable blackoutWindow = this::blackoutWindow;
+    private final Runnable endBlackout = () -> blackout = false;
 
     // Prevent immediate multiple game-over transitions
     private boolean gameEnding = false;
     private final int GAME_OVER_DELAY_MS = 300; // delay for effects before changing screen (300 ms)
+    private final Runnable showGameOver = this::showGameOver;
 
     // sound manager instance
     private SoundManager soundManager;
 
-    // SCORE VARIABLES
-    private int foodsEaten;
-
-    // movement timing – controls snake speed
+    // movement timing – controls snake speed (interval comes from the simulation's speed curve)
     private double moveAccumulator = 0.0;
-    private double moveInterval = 0.25; // seconds between moves at start (slower)
-
-    private void updateScore() {
-        foodsEaten++; // counting the score
-    }
 
     public GameScreen(Core core, StateMachine states, InputManager input, FileManager fileManager,SoundManager soundManager) {
         this.core = core; // stores reference
@@ -111,19 +139,18 @@ public class GameScreen implements Screen { // implementing screen base
         glitchTime = 0.0;
         gameEnding = false;
 
-        flipMessageTime = 0.0; // clear “snake reversed” message
-        randomEventTimer = 4.0 + Math.random() * 5.0; // first random event 3–8s from now
+        effectTimers.clear();
+        playTimers.clear();
+        flipMessageShown = false; // clear “snake reversed” message
+        blackout = false;
 
-        // schedule first blackout 6–12 seconds from now
-        blackoutTime = 0.0;
-        nextBlackoutTimer = 6.0 + Math.random() * 6.0;
+        playTimers.schedule(4.0 + effectsRng.nextDouble() * 5.0, randomEvent); // first random event 4–9s from now
+        playTimers.schedule(6.0 + effectsRng.nextDouble() * 6.0, blackoutWindow); // first blackout window 6–12s
 
-        foodsEaten = 0; // Reset the counter when game starts
         moveAccumulator = 0.0; // reset movement timer
-        moveInterval = 0.25;   // reset to base speed
     }
     private void saveScore() {
-        final int finalScore = foodsEaten;
+        final int finalScore = sim.getFoodsEaten();
 
         SwingUtilities.invokeLater(() -> {
             // This version handles the Object return properly
@@ -147,13 +174,30 @@ public class GameScreen implements Screen { // implementing screen base
     @Override
     public void onEnter() {
         input.reset();
-        snake = new Snake();
         soundManager.playBGM(); // start background music
-        buildMapEasy();
-        ensureSafeStartDirection(); // fix snake direction once spawned
-        food = new Food();
-        food.respawn(walls, snake, cols, rows);
-        resetGame();//reset score when game starts
+        SplittableRandom session = new SplittableRandom(sessionSeed());
+        sim = new GameSimulation(cols, rows, wrap, session.split()); // map, snake, food, score
+        effectsRng = session.split();
+        renderRng = session.split();
+        snake = sim.getSnake();
+        food = sim.getFood();
+        walls = sim.getWalls();
+        mapLayer.invalidate();                  // new game, new map
+        mapLayerVersion = sim.getMapVersion();
+        resetGame();//reset effects when game starts
+    }
+
+    // fixed seed from settings for replays/benchmarks, otherwise a fresh one per game
+    private long sessionSeed() {
+        String configured = fileManager.getSetting("rng_seed", "random").trim();
+        if (!configured.equalsIgnoreCase("random")) {
+            try {
+                return Long.parseLong(configured);
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid rng_seed setting: " + configured);
+            }
+        }
+        return System.nanoTime();
     }
 
     public void onExit() {
@@ -165,92 +209,60 @@ public class GameScreen implements Screen { // implementing screen base
         glitchTime = 0.0;
         gameEnding = false;
 
-        flipMessageTime = 0.0;   // ensure cleared when leaving the screen
-        blackoutTime = 0.0;
+        effectTimers.clear();    // also drops a pending game-over switch
+        playTimers.clear();
+        flipMessageShown = false;   // ensure cleared when leaving the screen
+        blackout = false;
     }
 
     public void update(double dt) {
-        // flip warning fading out
-        if (flipMessageTime > 0) {
-            flipMessageTime -= dt;
-            if (flipMessageTime < 0) flipMessageTime = 0;
-        }
-
-        // update blackout countdown and duration (only while actually playing)
+        // blackout windows + random small shake/glitch events (only while actually playing)
         if (!gameEnding && !states.is(GameStates.PAUSED)) {
-
-            // countdown to next possible blackout
-            nextBlackoutTimer -= dt;
-
-            if (nextBlackoutTimer <= 0) {
-                // chance to actually trigger blackout when timer hits zero
-                double blackoutChance = 0.35;    // 35% chance, adjust as you like
-                if (Math.random() < blackoutChance) {
-                    blackoutTime = 0.4;         // blackout lasts ~0.4 seconds
-                }
-                // schedule next window 6–12 seconds from now
-                nextBlackoutTimer = 6.0 + Math.random() * 6.0;
-            }
-        }
-
-        // countdown active blackout (separate from scheduling)
-        if (blackoutTime > 0) {
-            blackoutTime -= dt;
-            if (blackoutTime < 0) blackoutTime = 0;
+            playTimers.advance(dt);
         }
 
-        // random small shake/glitch events (only while actually playing)
-        if (!gameEnding && !states.is(GameStates.PAUSED)) {
-            randomEventTimer -= dt;
-            if (randomEventTimer <= 0) {
-                // 35% chance to actually fire when the timer expires
-                if (Math.random() < 0.35) {
-                    // short, small effect – use Math.max so we don't override a bigger collision shake
-                    shakeTime  = Math.max(shakeTime,  0.15);
-                    glitchTime = Math.max(glitchTime, 0.15);
-                }
-                // schedule next window 3–8 seconds from now
-                randomEventTimer = 4.0 + Math.random() * 5.0;
-            }
-        }
+        // flip warning, blackout length and the game-over delay
+        effectTimers.advance(dt);
 
         if (gameEnding) {
             // allow only effect timers to tick; skip movement/input handling
-            // still subtract dt from shakeTime/glitchTime below as you already do
-            // optionally return early so snake doesn't move during end effect
+            // (the game-over timer switches screens from inside effectTimers.advance above)
             return;
         }
 
-        if (snake == null || food == null || walls == null) return;
+        if (sim == null) return;
         if (states.is(GameStates.PAUSED)) return;
 
-        Snake.Direction nd = input.consumeDirectionChange();
-        if (nd != null) { snake.setDirection(nd); }
-
         // accumulate time and move only when enough time has passed
         moveAccumulator += dt;
-        if (moveAccumulator < moveInterval) {
+        if (moveAccumulator < sim.getMoveInterval()) {
             return; // not time to move yet
         }
-        moveAccumulator -= moveInterval;
+        moveAccumulator -= sim.getMoveInterval();
 
         // actually move the snake one cell
-        snake.move();
+        Snake.Direction turn = input.consumeTurn(snake.getDirection()); // at most one queued turn per step
+        GameSimulation.Event r = sim.step(turn);
+        if (turn != null) core.getInputLatency().turnApplied(input.getLastTurnNanos());
 
         soundManager.playMove(); // play movement sound
 
-        CollisionHandler.Result r =
-                collider.check(snake, food, walls, wrap, cols, rows);
-
         switch (r) {
             case ATE_FOOD:
                 soundManager.playEat();
-                snake.grow();
-                food.respawn(walls, snake, cols, rows);
-                updateScore();
-                updateSpeedBasedOnLength();
+                break;
+
+            case REVERSED:
+                soundManager.playEat();
+                onSnakeFlipped();    // <--- surprise event
+                break;
 
-                maybeFlipSnake();    // <--- surprise event
+            case BOARD_FULL:
+                // snake covers every free cell - nothing left to eat, the player won
+                soundManager.playEat();
+                soundManager.stopMove();
+                soundManager.stopBGM();
+                endGame();
                 break;
 
 
@@ -262,22 +274,7 @@ public class GameScreen implements Screen { // implementing screen base
                 soundManager.stopBGM();    // stop music immediately on death
                 shakeTime = shakeDuration;   // start shake
                 glitchTime = glitchDuration; // start glitch
-                saveScore();
-
-                // prevent multiple transitions
-                if (!gameEnding) {
-                    gameEnding = true;
-
-                    // Delay the transition so the shake/glitch effect can be shown for a short moment
-                    new Thread(() -> {
-                        try {
-                            Thread.sleep(GAME_OVER_DELAY_MS); // milliseconds
-                        } catch (InterruptedException e) {
-                            // ignore
-                        }
-                        core.toGameOver();
-                    }).start();
-                }
+                endGame();
                 break;
             default: /* no-op */ }
 
@@ -293,13 +290,54 @@ public class GameScreen implements Screen { // implementing screen base
         }
     }
 
-    private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            hudFont = base.deriveFont(Font.PLAIN, 24f);   // tweak size if needed
-        } catch (Exception e) {
-            hudFont = new Font("Arial", Font.BOLD, 18);
+    // saves the score and moves to the game-over screen once the end effects had a moment to show
+    private void endGame() {
+        saveScore();
+
+        // prevent multiple transitions
+        if (!gameEnding) {
+            gameEnding = true;
+
+            // Delay the transition so the shake/glitch effect can be shown for a short moment
+            // (runs on the game thread via effectTimers, so the state machine isn't touched from elsewhere)
+            effectTimers.schedule(GAME_OVER_DELAY_MS / 1000.0, showGameOver);
+        }
+    }
+
+    private void showGameOver() {
+        core.toGameOver();
+    }
+
+    // a blackout window opened: 35% chance the screen actually goes black, then wait for the next window
+    private void blackoutWindow() {
+        double blackoutChance = 0.35;    // 35% chance, adjust as you like
+        if (effectsRng.nextDouble() < blackoutChance) {
+            blackout = true;
+            effectTimers.cancel(blackoutTimer);
+            blackoutTimer = effectTimers.schedule(0.4, endBlackout);   // blackout lasts ~0.4 seconds
         }
+        // schedule next window 6–12 seconds from now
+        playTimers.schedule(6.0 + effectsRng.nextDouble() * 6.0, blackoutWindow);
+    }
+
+    private void randomEvent() {
+        // 35% chance to actually fire when the timer expires
+        if (effectsRng.nextDouble() < 0.35) {
+            // short, small effect – use Math.max so we don't override a bigger collision shake
+            shakeTime  = Math.max(shakeTime,  0.15);
+            glitchTime = Math.max(glitchTime, 0.15);
+        }
+        // schedule next window 4–9 seconds from now
+        playTimers.schedule(4.0 + effectsRng.nextDouble() * 5.0, randomEvent);
+    }
+
+    private void loadFonts() {
+        hudFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 24f, new Font("Arial", Font.BOLD, 18));   // tweak size if needed
+        flipFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 36f, new Font("Arial", Font.BOLD, 36));
+
+        // glyphs rendered once here, not on the first frame that shows them
+        hudText = new HudText(hudFont, HUD_GREEN, Color.BLACK).label(FOODS_LABEL);
+        flipText = new HudText(flipFont, Color.RED, null).label(FLIP_MESSAGE);
     }
 
     public void render(Graphics2D g) {
@@ -315,88 +353,49 @@ public class GameScreen implements Screen { // implementing screen base
 
         // --- Screen Shake ---
         if (shakeTime > 0) {
-            int sx = (int)(Math.random() * shakeStrength * 2 - shakeStrength);
-            int sy = (int)(Math.random() * shakeStrength * 2 - shakeStrength);
+            int sx = renderRng.nextInt(-shakeStrength, shakeStrength + 1);
+            int sy = renderRng.nextInt(-shakeStrength, shakeStrength + 1);
             g.translate(sx, sy);
         }
 
-        // background
-        // base clear behind everything
-        g.setColor(Color.BLACK);
-        g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
-
-        // tile backgroundSprite inside the wall border
-        if (backgroundSprite != null) {
-            for (int x = 1; x < cols - 1; x++) {          // skipping left/right border
-                for (int y = 1; y < rows - 1; y++) {      // skipping top/bottom border
-                    g.drawImage(
-                            backgroundSprite, x * unit, y * unit, unit, unit, null);
-                }
-            }
-        }
-
-        // walls
-        if (walls != null) {
-            for (int x = 0; x < cols; x++) {
-                for (int y = 0; y < rows; y++) {
-                    if (walls[x][y]) {
-                        if (wallSprite != null) {
-                            g.drawImage(wallSprite, x * unit, y * unit, unit, unit, null);
-                        } else {
-                            g.setColor(new Color(40, 40, 40));
-                            g.fillRect(x * unit, y * unit, unit, unit);
-                        }
-                    }
-                }
-            }
+        // background + walls from the cached map layer (repainted only when the map changes)
+        if (mapLayerVersion != sim.getMapVersion()) {
+            mapLayerVersion = sim.getMapVersion();
+            mapLayer.invalidate();
         }
+        mapLayer.draw(g);
 
         // --- HUD bar for Foods counter ---
         int hudHeight = unit;   // one tile tall
 
         // dark translucent strip across the top
-        g.setColor(new Color(0, 0, 0, 190));
-        g.fillRect(0, 0, Core.WIDTH, hudHeight);
-
-        // prepare text
-        String hudText = "Foods: " + foodsEaten;
-        g.setFont(hudFont);
-        FontMetrics hfm = g.getFontMetrics();
+        hudBar.fill(g, 0, 0, Core.WIDTH, hudHeight);
 
         // position (left side, vertically centred in the bar)
         int textX = 16;
-        int textY = (hudHeight + hfm.getAscent()) / 2 - 4;
+        int textY = (hudHeight + hudText.getAscent()) / 2 - 4;
 
-        // outline so it pops on any background
-        g.setColor(Color.BLACK);
-        g.drawString(hudText, textX - 1, textY);
-        g.drawString(hudText, textX + 1, textY);
-        g.drawString(hudText, textX,     textY - 1);
-        g.drawString(hudText, textX,     textY + 1);
-
-        // main color (matching your green titles)
-        g.setColor(new Color(120, 255, 120));
-        g.drawString(hudText, textX, textY);
+        // outlined label + score, blitted from cached glyphs
+        textX = hudText.drawLabel(g, FOODS_LABEL, textX, textY);
+        hudText.drawNumber(g, sim.getFoodsEaten(), textX, textY);
 
 
         // food
         int fx = food.getX();
         int fy = food.getY();
-        g.drawImage(foodSprite, fx * unit, fy * unit, unit, unit, null);
+        g.drawImage(foodSprite, fx * unit, fy * unit, null);
 
-        // snake as ghost + neck
-        List<Segment> body = snake.getBody();  // all segments except head
-        Segment head = snake.getHead();
+        // snake as ghost + neck (indexed so no Segment views are allocated per frame)
+        int length = snake.size();
 
         // draw head
-        g.drawImage(getHeadSprite(), head.getX() * unit, head.getY() * unit, unit, unit, null);
+        g.drawImage(getHeadSprite(), snake.xAt(0) * unit, snake.yAt(0) * unit, null);
 
         // draw body segments (neck)
-        Segment prev = head;
-        for (Segment curr : body) {
-            BufferedImage bodySprite = getBodySpriteForSegment(prev, curr);
-            g.drawImage(bodySprite, curr.getX() * unit, curr.getY() * unit, unit, unit, null);
-            prev = curr;
+        for (int i = 1; i < length; i++) {
+            int cx = snake.xAt(i), cy = snake.yAt(i);
+            BufferedImage bodySprite = getBodySpriteForSegment(snake.xAt(i - 1), cx);
+            g.drawImage(bodySprite, cx * unit, cy * unit, null);
         }
 
         // --- CRT Glitch ---
@@ -404,32 +403,25 @@ public class GameScreen implements Screen { // implementing screen base
             Composite old = g.getComposite();
 
             for (int i = 0; i < 10; i++) {
-                int y = (int)(Math.random() * Core.HEIGHT);
-                g.setColor(new Color(255, 255, 255, 50));
-                g.fillRect(0, y, Core.WIDTH, 2);
+                int y = renderRng.nextInt(Core.HEIGHT);
+                glitchLine.fill(g, 0, y, Core.WIDTH, 2);
             }
 
             g.setComposite(old);
         }
 
-        if (flipMessageTime > 0) {
+        if (flipMessageShown) {
             // semi-transparent dark overlay
-            g.setColor(new Color(0, 0, 0, 150));
-            g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
+            flipOverlay.fill(g, 0, 0, Core.WIDTH, Core.HEIGHT);
 
             // warning text
-            g.setColor(Color.RED);
-            g.setFont(hudFont.deriveFont(36f));  // or a fixed Font if you prefer
+            int x = (Core.WIDTH  - flipText.width(FLIP_MESSAGE)) / 2;
+            int y = (Core.HEIGHT - flipText.getHeight()) / 2 + flipText.getAscent();
 
-            String msg = "THE SNAKE REVERSED!";
-            FontMetrics fm = g.getFontMetrics();
-            int x = (Core.WIDTH  - fm.stringWidth(msg)) / 2;
-            int y = (Core.HEIGHT - fm.getHeight()) / 2 + fm.getAscent();
-
-            g.drawString(msg, x, y);
+            flipText.drawLabel(g, FLIP_MESSAGE, x, y);
 
             // --- full-screen blackout glitch ---
-            if (blackoutTime > 0) {
+            if (blackout) {
                 g.setColor(Color.BLACK);
                 g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
                 // no text during blackout – if you want text, draw it here before return
@@ -440,76 +432,56 @@ public class GameScreen implements Screen { // implementing screen base
 
     }
 
-    // --- simple environment presets (easy). Others can be added later.
-    private void buildMapEasy() {
-        walls = new boolean[cols][rows];
-        if (!wrap) {
-            for (int x = 0; x < cols; x++) { walls[x][0] = true; walls[x][rows - 1] = true; }
-            for (int y = 0; y < rows; y++) { walls[0][y] = true; walls[cols - 1][y] = true; }
-        }
+    private void loadSprites() {
+        // every sprite is drawn one tile big, so load them pre-scaled to the tile size
+        headUp    = SpriteLoader.load("resources/sprites/upH.png", unit, unit);
+        headDown  = SpriteLoader.load("resources/sprites/downH.png", unit, unit);
+        headLeft  = SpriteLoader.load("resources/sprites/leftH.png", unit, unit);
+        headRight = SpriteLoader.load("resources/sprites/rightH.png", unit, unit);
+
+        bodyH     = SpriteLoader.load("resources/sprites/bodyH.png", unit, unit);
+        bodyV     = SpriteLoader.load("resources/sprites/bodyV.png", unit, unit);
+
+        foodSprite = SpriteLoader.load("resources/sprites/eye.png", unit, unit);
+        backgroundSprite = SpriteLoader.load("resources/sprites/wall2.png", unit, unit);
+        wallSprite = SpriteLoader.load("resources/sprites/wall.png", unit, unit);
     }
 
-    // making sure the starting direction does NOT point into a wall
-    private void ensureSafeStartDirection() {
-        if (snake == null || walls == null) return;
+    // paints everything that only changes with the map: base clear, floor tiles and walls
+    private void paintMapLayer(Graphics2D g) {
+        g.setRenderingHint(
+                RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+        );
 
-        // current head position in grid coordinates
-        Segment head = snake.getHead();
-        int x = head.getX();
-        int y = head.getY();
+        // base clear behind everything
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
 
-        // try directions in a reasonable order: first one inside the board and not a wall will be used
-        if (isFreeCell(x + 1, y)) {
-            snake.setDirection(Snake.Direction.RIGHT);
-            return;
-        }
-        if (isFreeCell(x - 1, y)) {
-            snake.setDirection(Snake.Direction.LEFT);
-            return;
-        }
-        if (isFreeCell(x, y - 1)) {
-            snake.setDirection(Snake.Direction.UP);
-            return;
-        }
-        if (isFreeCell(x, y + 1)) {
-            snake.setDirection(Snake.Direction.DOWN);
+        // tile backgroundSprite inside the wall border
+        if (backgroundSprite != null) {
+            for (int x = 1; x < cols - 1; x++) {          // skipping left/right border
+                for (int y = 1; y < rows - 1; y++) {      // skipping top/bottom border
+                    g.drawImage(backgroundSprite, x * unit, y * unit, null);
+                }
+            }
         }
-    }
-
-    // helper: is a given cell inside the board and not a wall?
-    private boolean isFreeCell(int x, int y) {
-        if (x < 0 || x >= cols || y < 0 || y >= rows) return false;
-        return !walls[x][y];
-    }
-
-    // adjusting speed of snake for every 5 foods eaten
-    private void updateSpeedBasedOnLength() {
-        // each 5 foods -> 1 level faster
-        int levels = foodsEaten / 5;      // 0,1,2,3,...
 
-        double baseInterval = 0.25;       // starting speed
-        double perLevelDecrease = 0.03;   // how much faster each level
-        double minInterval = 0.10;        // fastest allowed
-
-        double newInterval = baseInterval - levels * perLevelDecrease;
-        if (newInterval < minInterval) {
-            newInterval = minInterval;
+        // walls
+        if (walls != null) {
+            for (int x = 0; x < cols; x++) {
+                for (int y = 0; y < rows; y++) {
+                    if (walls[x][y]) {
+                        if (wallSprite != null) {
+                            g.drawImage(wallSprite, x * unit, y * unit, null);
+                        } else {
+                            g.setColor(WALL_FALLBACK);
+                            g.fillRect(x * unit, y * unit, unit, unit);
+                        }
+                    }
+                }
+            }
         }
-        moveInterval = newInterval;
-    }
-
-    private void loadSprites() {
-        headUp    = SpriteLoader.load("resources/sprites/upH.png");
-        headDown  = SpriteLoader.load("resources/sprites/downH.png");
-        headLeft  = SpriteLoader.load("resources/sprites/leftH.png");
-        headRight = SpriteLoader.load("resources/sprites/rightH.png");
-
-        bodyH     = SpriteLoader.load("resources/sprites/bodyH.png");
-        bodyV     = SpriteLoader.load("resources/sprites/bodyV.png");
-
-        foodSprite = SpriteLoader.load("resources/sprites/eye.png");
-        backgroundSprite = SpriteLoader.load("resources/sprites/wall2.png");
-        wallSprite = SpriteLoader.load("resources/sprites/wall.png");
     }
 
     private BufferedImage getHeadSprite() {
@@ -523,9 +495,8 @@ public class GameScreen implements Screen { // implementing screen base
         }
     }
 
-    private BufferedImage getBodySpriteForSegment(Segment prev, Segment curr) {
-        int dx = curr.getX() - prev.getX();
-        int dy = curr.getY() - prev.getY();
+    private BufferedImage getBodySpriteForSegment(int prevX, int currX) {
+        int dx = currX - prevX;
 
         if (dx != 0) {
             // moved left/right
@@ -536,21 +507,14 @@ public class GameScreen implements Screen { // implementing screen base
         }
     }
 
-    private void maybeFlipSnake() {
-        // not to flip for the first 2 foods
-        if (foodsEaten < 3) {
-            return;
-        }
-
-        // example: 20% chance each time you eat food
-        double flipChance = 0.20;
-
-        if (Math.random() < flipChance) {
-            snake.reverse();                         // flip head and tail
-            shakeTime = shakeDuration * 2.0;         // extra shake
-            glitchTime = glitchDuration * 2.0;       // extra glitch
-            flipMessageTime = 1.0;                   // show warning for 1 second
-        }
+    // the simulation flipped head and tail (chance per food, see GameSimulation) - make it obvious
+    // (public so tests can render the flip, shake and glitch effects without playing to a flip)
+    public void onSnakeFlipped() {
+        shakeTime = shakeDuration * 2.0;         // extra shake
+        glitchTime = glitchDuration * 2.0;       // extra glitch
+        flipMessageShown = true;                 // show warning for 1 second
+        effectTimers.cancel(flipMessageTimer);
+        flipMessageTimer = effectTimers.schedule(1.0, hideFlipMessage);
     }
 
 
@@ -5,14 +5,13 @@ import engine.FileManager;
 import engine.StateMachine;
 import entity.Score;
 import engine.SpriteLoader;
+import engine.FontRegistry;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.FileInputStream;
-import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -44,27 +43,25 @@ public class HighScoreScreen implements Screen, MouseListener {
         this.fileManager = fileManager;
 
         loadFonts();
-        loadAssets();
         initLayout(); // similar role to original initializeUI()
+        loadAssets(); // after layout: button texture is scaled to the button
     }
 
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            titleFont  = base.deriveFont(Font.BOLD, 72f);
-            listFont   = base.deriveFont(Font.PLAIN, 28f);
-            buttonFont = base.deriveFont(Font.PLAIN, 26f);
-        } catch (Exception e) {
-            titleFont  = new Font("Arial", Font.BOLD, 72);
-            listFont   = new Font("Arial", Font.PLAIN, 24);
-            buttonFont = new Font("Arial", Font.PLAIN, 26);
-        }
+        titleFont  = FontRegistry.get(FontRegistry.ALAGARD, Font.BOLD, 72f, new Font("Arial", Font.BOLD, 72));
+        listFont   = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 28f, new Font("Arial", Font.PLAIN, 24));
+        buttonFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 26f, new Font("Arial", Font.PLAIN, 26));
+
+        // built on a loader thread: rasterise the fixed text here (player names are only known later)
+        FontRegistry.prewarm(titleFont, "HIGH SCORES");
+        FontRegistry.prewarm(listFont, "0123456789. foods", "No scores yet!");
+        FontRegistry.prewarm(buttonFont, "Back to Menu");
     }
 
     private void loadAssets() {
         // reuse menu background
         bgTile    = SpriteLoader.load("resources/sprites/wall2.png");
-        stoneTile  = SpriteLoader.load("resources/sprites/button.png");
+        stoneTile  = SpriteLoader.load("resources/sprites/button.png", backBtn.width, backBtn.height);
     }
     // sets up button position (instead of Swing layout)
     private void initLayout() {
@@ -93,6 +90,9 @@ public class HighScoreScreen implements Screen, MouseListener {
         // no per-frame logic for now (static screen)
     }
 
+    @Override
+    public boolean isAnimating() { return false; } // static picture
+
     @Override
     public void render(Graphics2D g) {
         g.setRenderingHint(
@@ -106,7 +106,7 @@ public class HighScoreScreen implements Screen, MouseListener {
             int th = bgTile.getHeight();
             for (int x = 0; x < Core.WIDTH; x += tw) {
                 for (int y = 0; y < Core.HEIGHT; y += th) {
-                    g.drawImage(bgTile, x, y, tw, th, null);
+                    g.drawImage(bgTile, x, y, null);
                 }
             }
         } else {
@@ -179,13 +179,7 @@ public class HighScoreScreen implements Screen, MouseListener {
 
     private void drawButton(Graphics2D g, Rectangle rect, String text) {
         if (stoneTile != null) {
-            g.drawImage(
-                    stoneTile,
-                    rect.x, rect.y,
-                    rect.x + rect.width, rect.y + rect.height,
-                    0, 0, stoneTile.getWidth(), stoneTile.getHeight(),
-                    null
-            );
+            g.drawImage(stoneTile, rect.x, rect.y, null); // pre-scaled to the button size
         } else {
             g.setColor(new Color(40, 40, 40, 220));
             g.fill(rect);
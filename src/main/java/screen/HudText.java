@@ -0,0 +1,140 @@
+package screen;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Text drawn from pre-rendered images instead of drawString: the ten digits and any labels
+ * registered up front are rendered once (optionally with a 1px outline), and drawing is just
+ * drawImage calls. Numbers are drawn digit by digit, so showing a changing score builds no strings.
+ *
+ * Nothing here allocates after construction/label(), which keeps the render loop garbage-free.
+ * Not thread-safe; use from the render thread.
+ */
+public final class HudText {
+
+    private static final int PAD = 1;   // room for the outline around each glyph image
+
+    private final Font font;
+    private final Color fill;
+    private final Color outline;        // null = no outline
+    private final int ascent, height;
+
+    private final BufferedImage[] digits = new BufferedImage[10];
+    private final int[] digitAdvance = new int[10];
+    private final Map<String, BufferedImage> labels = new HashMap<>();
+    private final Map<String, Integer> labelAdvance = new HashMap<>();
+
+    public HudText(Font font, Color fill, Color outline) {
+        this.font = font;
+        this.fill = fill;
+        this.outline = outline;
+
+        FontMetrics fm = metrics();
+        ascent = fm.getAscent();
+        height = fm.getHeight();
+
+        for (int d = 0; d < 10; d++) {
+            String s = String.valueOf((char) ('0' + d));
+            digits[d] = render(s);
+            digitAdvance[d] = fm.stringWidth(s);
+        }
+    }
+
+    /** Pre-renders a fixed string so drawLabel can blit it. Returns this for chaining. */
+    public HudText label(String text) {
+        if (!labels.containsKey(text)) {
+            labels.put(text, render(text));
+            labelAdvance.put(text, metrics().stringWidth(text));
+        }
+        return this;
+    }
+
+    /** Draws a label registered with label() with its baseline at y; returns the x after it. */
+    public int drawLabel(Graphics2D g, String text, int x, int baseline) {
+        BufferedImage img = labels.get(text);
+        if (img == null) throw new IllegalArgumentException("label not registered: " + text);
+        g.drawImage(img, x - PAD, baseline - ascent - PAD, null);
+        return x + labelAdvance.get(text);
+    }
+
+    /** Draws a non-negative number with its baseline at y; returns the x after it. */
+    public int drawNumber(Graphics2D g, int value, int x, int baseline) {
+        if (value < 0) throw new IllegalArgumentException("negative value: " + value);
+
+        int div = 1;
+        while (value / div >= 10) div *= 10;
+
+        for (; div > 0; div /= 10) {
+            int d = (value / div) % 10;
+            g.drawImage(digits[d], x - PAD, baseline - ascent - PAD, null);
+            x += digitAdvance[d];
+        }
+        return x;
+    }
+
+    /** Width of a label registered with label(). */
+    public int width(String text) {
+        Integer w = labelAdvance.get(text);
+        if (w == null) throw new IllegalArgumentException("label not registered: " + text);
+        return w;
+    }
+
+    public int getAscent() {
+        return ascent;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // text -> translucent image, glyph origin at (PAD, PAD + ascent)
+    private BufferedImage render(String text) {
+        FontMetrics fm = metrics();
+        int w = Math.max(1, fm.stringWidth(text)) + 2 * PAD;
+        int h = fm.getHeight() + 2 * PAD;
+
+        BufferedImage img;
+        GraphicsConfiguration gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        if (gc != null) img = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        else img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setFont(font);
+            int x = PAD, y = PAD + ascent;
+            if (outline != null) {
+                // outline so it pops on any background
+                g.setColor(outline);
+                g.drawString(text, x - 1, y);
+                g.drawString(text, x + 1, y);
+                g.drawString(text, x,     y - 1);
+                g.drawString(text, x,     y + 1);
+            }
+            g.setColor(fill);
+            g.drawString(text, x, y);
+        } finally {
+            g.dispose();
+        }
+        return img;
+    }
+
+    private FontMetrics metrics() {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        try {
+            return g.getFontMetrics(font);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -10,11 +10,10 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Rectangle2D;
 import engine.SpriteLoader;
+import engine.FontRegistry;
 import java.awt.image.BufferedImage;
 
 import java.awt.Font;
-import java.io.FileInputStream;
-import java.io.InputStream;
 
 
 // menu implementation
@@ -43,19 +42,15 @@ public class MenuScreen implements Screen, MouseListener {
         loadFonts();
         initButtons();
 
-        menuBackground = SpriteLoader.load("resources/backgrounds/front.jpg");
-        stoneTile      = SpriteLoader.load("resources/sprites/button.png");
+        // pre-scaled to the size they are drawn at (all buttons share one size)
+        menuBackground = SpriteLoader.load("resources/backgrounds/front.jpg", Core.WIDTH, Core.HEIGHT);
+        stoneTile      = SpriteLoader.load("resources/sprites/button.png", startBtn.width, startBtn.height);
     }
 
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            titleFont = base.deriveFont(Font.BOLD, 140f);   // big title
-            buttonFont = base.deriveFont(Font.PLAIN, 26f); // menu buttons
-        } catch (Exception e) {
-            titleFont = new Font("Arial", Font.BOLD, 80);
-            buttonFont = new Font("Arial", Font.PLAIN, 26);
-        }
+        // shared through FontRegistry (file parsed once); Arial if alagard.ttf is missing
+        titleFont = FontRegistry.get(FontRegistry.ALAGARD, Font.BOLD, 140f, new Font("Arial", Font.BOLD, 80));   // big title
+        buttonFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 26f, new Font("Arial", Font.PLAIN, 26)); // menu buttons
     }
 
     // layout buttons
@@ -86,6 +81,9 @@ public class MenuScreen implements Screen, MouseListener {
         // no per-frame logic needed for static menu right now
     }
 
+    @Override
+    public boolean isAnimating() { return false; } // static picture
+
     @Override
     public void render(Graphics2D g) {
         g.setRenderingHint(
@@ -95,7 +93,7 @@ public class MenuScreen implements Screen, MouseListener {
 
         // background
         if (menuBackground != null) {
-            g.drawImage(menuBackground, 0, 0, Core.WIDTH, Core.HEIGHT, null);
+            g.drawImage(menuBackground, 0, 0, null);
         } else {
             g.setColor(Color.BLACK);
             g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
@@ -121,12 +119,7 @@ public class MenuScreen implements Screen, MouseListener {
     private void drawButton(Graphics2D g, Rectangle rect, String text) {
         // --- stone background ---
         if (stoneTile != null) {
-            // draw the button.png scaled to the button rect
-            g.drawImage(stoneTile,
-                    rect.x, rect.y,
-                    rect.x + rect.width, rect.y + rect.height,
-                    0, 0, stoneTile.getWidth(), stoneTile.getHeight(),
-                    null);
+            g.drawImage(stoneTile, rect.x, rect.y, null); // pre-scaled to the button size
         } else {
             // fallback flat fill if image missing
             g.setColor(new Color(40, 40, 40, 220));
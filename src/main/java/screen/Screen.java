@@ -8,4 +8,7 @@ public interface Screen {
     void onExit();
     void update(double dt);
     void render(Graphics2D g);
+
+    // false for screens whose picture only changes on enter/exit, so the loop can skip redrawing them
+    default boolean isAnimating() { return true; }
 }
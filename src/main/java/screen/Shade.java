@@ -0,0 +1,52 @@
+package screen;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A translucent colour fill (HUD strip, dim overlay, scanlines) kept as a pre-rendered tile.
+ *
+ * fillRect with a translucent colour goes through the generic paint pipeline on the software
+ * renderer, which allocates a raster per call; blitting a translucent image doesn't. The tile is
+ * repeated to cover larger areas.
+ */
+final class Shade {
+
+    private final BufferedImage tile;
+
+    Shade(Color color, int tileWidth, int tileHeight) {
+        GraphicsConfiguration gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        tile = gc != null
+                ? gc.createCompatibleImage(tileWidth, tileHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setColor(color);
+            g.fillRect(0, 0, tileWidth, tileHeight);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Same result as setColor(color) + fillRect(x, y, width, height). */
+    void fill(Graphics2D g, int x, int y, int width, int height) {
+        int tw = tile.getWidth(), th = tile.getHeight();
+        for (int ty = 0; ty < height; ty += th) {
+            int h = Math.min(th, height - ty);
+            for (int tx = 0; tx < width; tx += tw) {
+                int w = Math.min(tw, width - tx);
+                if (w == tw && h == th) {
+                    g.drawImage(tile, x + tx, y + ty, null);
+                } else {
+                    g.drawImage(tile, x + tx, y + ty, x + tx + w, y + ty + h, 0, 0, w, h, null);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package screen;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
+
+/**
+ * Full-screen picture that rarely changes (background tiles, walls), painted once into an
+ * accelerated VolatileImage and blitted in a single drawImage per frame.
+ *
+ * The layer is repainted only after invalidate() or when the VolatileImage lost its contents
+ * (display change, surface eviction). If the device can't give us a VolatileImage
+ * (e.g. rendering into a BufferedImage offscreen) a compatible BufferedImage is used instead.
+ */
+final class StaticLayer {
+
+    /** Paints the layer's contents from (0,0). */
+    interface Painter {
+        void paint(Graphics2D g);
+    }
+
+    private final int width, height;
+    private final Painter painter;
+
+    private VolatileImage volatileImage;
+    private Image plainImage;          // fallback when volatile images aren't available
+    private GraphicsConfiguration builtFor;
+    private boolean valid;
+
+    StaticLayer(int width, int height, Painter painter) {
+        this.width = width;
+        this.height = height;
+        this.painter = painter;
+    }
+
+    /** Contents changed (map rebuilt) - repaint before the next draw. */
+    void invalidate() {
+        valid = false;
+    }
+
+    void draw(Graphics2D target) {
+        GraphicsConfiguration gc = target.getDeviceConfiguration();
+
+        if (plainImage == null && volatileImage == null || builtFor != gc) create(gc);
+
+        if (volatileImage == null) {
+            if (!valid) repaint(plainImage);
+            target.drawImage(plainImage, 0, 0, null);
+            return;
+        }
+
+        do {
+            int status = volatileImage.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                create(gc);
+                if (volatileImage == null) {   // device stopped handing out volatile images
+                    draw(target);
+                    return;
+                }
+            }
+            if (!valid || status != VolatileImage.IMAGE_OK) repaint(volatileImage);
+            target.drawImage(volatileImage, 0, 0, null);
+        } while (volatileImage.contentsLost());
+    }
+
+    private void create(GraphicsConfiguration gc) {
+        if (volatileImage != null) volatileImage.flush();
+        volatileImage = null;
+        plainImage = null;
+        builtFor = gc;
+        valid = false;
+
+        try {
+            volatileImage = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+        } catch (RuntimeException e) {
+            volatileImage = null;
+        }
+        if (volatileImage == null) {
+            plainImage = gc.createCompatibleImage(width, height, Transparency.OPAQUE);
+        }
+    }
+
+    private void repaint(Image image) {
+        Graphics2D g = (Graphics2D) image.getGraphics();
+        try {
+            painter.paint(g);
+        } finally {
+            g.dispose();
+        }
+        valid = true;
+    }
+}
@@ -0,0 +1,151 @@
+package engine_test;
+
+import engine.AudioMixer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// drives the mixer through render() directly, no audio line needed
+class AudioMixerTest {
+
+    private static final float HALF_DB = (float) (20 * Math.log10(0.5));
+
+    @Test
+    void render_sumsVoicesWithTheirGain() {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int a = mixer.register(constant(1000, 100), 4);
+        int b = mixer.register(constant(400, 100), 4);
+
+        mixer.play(a, 0f);
+        mixer.play(b, HALF_DB);
+        byte[] out = new byte[10 * 4];
+        mixer.render(out, 10);
+
+        assertEquals(1200, sampleAt(out, 0));
+        assertEquals(1200, sampleAt(out, 19));
+    }
+
+    @Test
+    void render_clampsInsteadOfWrappingAround() {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int loud = mixer.register(constant(30000, 100), 4);
+
+        mixer.play(loud, 0f);
+        mixer.play(loud, 0f);
+        byte[] out = new byte[4];
+        mixer.render(out, 1);
+
+        assertEquals(Short.MAX_VALUE, sampleAt(out, 0));
+    }
+
+    @Test
+    void play_beyondVoiceLimitCutsTheOldestVoice() {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int s = mixer.register(constant(1000, 100), 1);
+
+        mixer.play(s, 0f);
+        mixer.play(s, 0f);
+        byte[] out = new byte[4];
+        mixer.render(out, 1);
+
+        assertEquals(1000, sampleAt(out, 0));
+    }
+
+    @Test
+    void loop_keepsPlayingUntilStopped() {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int s = mixer.register(constant(500, 8), 1);
+
+        mixer.loop(s, 0f);
+        byte[] out = new byte[100 * 4];
+        mixer.render(out, 100);
+        assertEquals(500, sampleAt(out, 199));
+
+        mixer.stop(s);
+        mixer.render(out, 100);
+        assertEquals(0, sampleAt(out, 0));
+    }
+
+    @Test
+    void commands_areDroppedOnceTheQueueIsFull() {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int s = mixer.register(constant(1, 1), 1);
+
+        int accepted = 0;
+        for (int i = 0; i < 10_000; i++) if (mixer.play(s, 0f)) accepted++;
+        assertTrue(accepted < 10_000);
+
+        mixer.render(new byte[4], 1);   // drains the queue
+        assertTrue(mixer.play(s, 0f));
+    }
+
+    @Test
+    void music_loopsSeamlesslyFromTheMappedFile(@TempDir Path dir) throws IOException {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int track = mixer.registerMusic(wav(dir.resolve("ramp.wav"), 0, 100, 200));
+        assertTrue(track >= 0);
+
+        mixer.playMusic(track, 0f, 0);
+        byte[] out = new byte[5 * 4];
+        mixer.render(out, 5);
+
+        // frames 0,1,2 then straight back to 0,1 (left channel)
+        assertEquals(0, sampleAt(out, 0));
+        assertEquals(200, sampleAt(out, 4));
+        assertEquals(0, sampleAt(out, 6));
+        assertEquals(100, sampleAt(out, 8));
+    }
+
+    @Test
+    void music_crossfadesIntoTheNextTrack(@TempDir Path dir) throws IOException {
+        AudioMixer mixer = new AudioMixer(AudioMixer.DEFAULT_BUFFER_MS);
+        int low = mixer.registerMusic(wav(dir.resolve("low.wav"), 1000));
+        int high = mixer.registerMusic(wav(dir.resolve("high.wav"), 3000));
+
+        mixer.playMusic(low, 0f, 0);
+        mixer.playMusic(high, 0f, 100);   // 4410 frames of crossfade
+        byte[] out = new byte[8820 * 4];
+        mixer.render(out, 8820);
+
+        int middle = sampleAt(out, 2205 * 2);
+        assertTrue(middle > 1000 && middle < 3000, "mid-fade sample " + middle);
+        assertEquals(3000, sampleAt(out, 8000 * 2), 1);
+
+        mixer.stopMusic(0);
+        mixer.render(out, 1);
+        assertEquals(0, sampleAt(out, 0));
+    }
+
+    // 44.1 kHz 16-bit mono WAV holding the given samples
+    private static Path wav(Path file, int... samples) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(44 + samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        b.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples.length * 2)
+         .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+         .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+         .putShort((short) 1).putShort((short) 1).putInt(44100).putInt(88200).putShort((short) 2).putShort((short) 16)
+         .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples.length * 2);
+        for (int s : samples) b.putShort((short) s);
+        Files.write(file, b.array());
+        return file;
+    }
+
+    private static short[] constant(int value, int frames) {
+        short[] s = new short[frames * 2];
+        Arrays.fill(s, (short) value);
+        return s;
+    }
+
+    // i-th 16-bit little-endian sample
+    private static int sampleAt(byte[] out, int i) {
+        return (short) ((out[i * 2 + 1] << 8) | (out[i * 2] & 0xFF));
+    }
+}
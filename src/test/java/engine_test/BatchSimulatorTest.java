@@ -0,0 +1,33 @@
+package engine_test;
+
+import engine.sim.BatchResult;
+import engine.sim.BatchSimulator;
+import engine.sim.GameSimulation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSimulatorTest {
+
+    @Test
+    void run_sameSeedSameResultOnAnyThreadCount() {
+        BatchResult one = new BatchSimulator().seed(42).parallelism(1).run(300);
+        BatchResult many = new BatchSimulator().seed(42).parallelism(3).run(300);
+
+        assertEquals(300, one.getGames());
+        assertEquals(one.getTotalSteps(), many.getTotalSteps());
+        assertEquals(one.meanScore(), many.meanScore());
+        for (int s = 0; s < 60; s++) assertEquals(one.scoreCount(s), many.scoreCount(s), "score " + s);
+        for (GameSimulation.Event e : GameSimulation.Event.values()) assertEquals(one.count(e), many.count(e));
+    }
+
+    @Test
+    void run_everyGameIsCounted() {
+        BatchResult r = new BatchSimulator().seed(7).maxSteps(50).run(100);
+
+        long ended = r.timeouts();
+        for (GameSimulation.Event e : GameSimulation.Event.values()) ended += r.count(e);
+        assertEquals(100, ended);
+        assertTrue(r.scorePercentile(0.5) <= r.scorePercentile(0.99));
+    }
+}
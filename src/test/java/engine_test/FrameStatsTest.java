@@ -0,0 +1,80 @@
+package engine_test;
+
+import engine.FrameStats;
+import engine.GameStates;
+import engine.ScreenStats;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FrameStatsTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void phasesAreRecordedPerScreen() {
+        FrameStats stats = new FrameStats();
+        long t = 1_000 * MS;
+        for (int i = 0; i < 100; i++) {
+            stats.updated(GameStates.PLAYING, i == 0 ? 3 : 1, i == 0 ? 5 : 0, 2 * MS);
+            t += 16 * MS;
+            stats.presented(GameStates.PLAYING, 4 * MS, MS, t);
+        }
+
+        ScreenStats playing = stats.get(GameStates.PLAYING);
+        assertEquals(100, playing.getFrames());
+        assertEquals(16, playing.getFrameP50Millis(), 16 * 0.125);
+        assertEquals(4, playing.getRenderP99Millis(), 4 * 0.125);
+        assertEquals(1, playing.getShowP50Millis(), 0.125);
+        assertEquals(1, playing.getCaughtUpFrames());
+        assertEquals(5, playing.getDroppedSteps());
+        assertEquals(1.02, playing.getStepsPerFrameMean(), 1e-9);
+        assertEquals(0, stats.get(GameStates.MENU).getFrames());
+        assertEquals("PLAYING", stats.getActiveScreen());
+        assertEquals(62.5, stats.getFps(), 1);
+    }
+
+    @Test
+    void exposedOverJmx() throws Exception {
+        FrameStats stats = new FrameStats();
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        stats.register(server);
+        stats.presented(GameStates.MENU, MS, MS, 10 * MS);
+        stats.presented(GameStates.MENU, MS, MS, 20 * MS);
+
+        assertEquals(2L, server.getAttribute(new ObjectName("snake:type=FrameStats"), "Frames"));
+        assertEquals(2L, server.getAttribute(new ObjectName("snake:type=FrameStats,screen=MENU"), "Frames"));
+        server.invoke(new ObjectName("snake:type=FrameStats"), "reset", null, null);
+        assertEquals(0L, server.getAttribute(new ObjectName("snake:type=FrameStats,screen=MENU"), "Frames"));
+    }
+
+    @Test
+    void recordingDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        FrameStats stats = new FrameStats();
+        long t = 1;
+        for (int i = 0; i < 20_000; i++) frame(stats, t += 16 * MS);   // warm up the JIT
+
+        long tid = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 1_000; i++) frame(stats, t += 16 * MS);
+        long allocated = threads.getThreadAllocatedBytes(tid) - before;
+
+        assertTrue(allocated < 1_000, "allocated " + allocated + " bytes for 1000 frames");
+    }
+
+    private static void frame(FrameStats stats, long now) {
+        stats.updated(GameStates.PLAYING, 1, 0, 2 * MS);
+        stats.presented(GameStates.PLAYING, 4 * MS, MS, now);
+    }
+}
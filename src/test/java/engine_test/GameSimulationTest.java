@@ -0,0 +1,73 @@
+package engine_test;
+
+import engine.sim.GameSimulation;
+import engine.sim.GreedyPolicy;
+import entity.Snake;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulationTest {
+
+    @Test
+    void step_runsIntoBorderWall() {
+        //snake starts heading right on an 18x13 board with border walls
+        GameSimulation sim = new GameSimulation(18, 13, false, 1L);
+        sim.getFood().setPosition(10, 10); // keep food out of the way
+
+        GameSimulation.Event last = GameSimulation.Event.NONE;
+        int steps = 0;
+        while (!sim.isOver() && steps < 100) {
+            last = sim.step(null);
+            steps++;
+        }
+
+        assertEquals(GameSimulation.Event.HIT_WALL, last);
+        assertEquals(16, steps); // from x=1 to the wall at x=17
+        assertEquals(GameSimulation.Event.HIT_WALL, sim.step(Snake.Direction.DOWN)); // stays over
+    }
+
+    @Test
+    void step_eatsFoodAndGrows() {
+        GameSimulation sim = new GameSimulation(18, 13, false, 1L);
+        sim.getFood().setPosition(3, 3);
+
+        assertEquals(GameSimulation.Event.NONE, sim.step(Snake.Direction.RIGHT));
+        assertEquals(GameSimulation.Event.ATE_FOOD, sim.step(Snake.Direction.RIGHT));
+        assertEquals(1, sim.getFoodsEaten());
+        assertEquals(4, sim.getSnake().size());
+    }
+
+    @Test
+    void speedCurve_speedsUpEveryFiveFoods() {
+        GameSimulation sim = new GameSimulation(18, 13, false, 1L);
+        sim.setFlipChance(0);
+        assertEquals(GameSimulation.BASE_INTERVAL, sim.getMoveInterval());
+
+        // drop the food right in front of the head on every step along the row
+        for (int i = 0; i < 15; i++) {
+            sim.getFood().setPosition(sim.getSnake().xAt(0) + 1, sim.getSnake().yAt(0));
+            assertTrue(sim.step(Snake.Direction.RIGHT).ate(), "step " + i);
+        }
+
+        assertEquals(15, sim.getFoodsEaten());
+        assertEquals(GameSimulation.BASE_INTERVAL - 3 * GameSimulation.PER_LEVEL_DECREASE,
+                sim.getMoveInterval(), 1e-9);
+    }
+
+    @Test
+    void sameSeedAndInputsReplayTheSameGame() {
+        GameSimulation a = new GameSimulation(18, 13, false, 99L);
+        GameSimulation b = new GameSimulation(18, 13, false, 99L);
+        GreedyPolicy bot = new GreedyPolicy();
+
+        while (!a.isOver() && a.getSteps() < 5000) {
+            Snake.Direction d = bot.choose(a);
+            assertEquals(a.step(d), b.step(d), "step " + a.getSteps());
+            assertEquals(a.getFood().getX(), b.getFood().getX());
+            assertEquals(a.getFood().getY(), b.getFood().getY());
+        }
+        assertEquals(a.getFoodsEaten(), b.getFoodsEaten());
+        assertTrue(a.getFoodsEaten() > 0);
+    }
+}
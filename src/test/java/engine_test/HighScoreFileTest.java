@@ -0,0 +1,98 @@
+package engine_test;
+
+import engine.HighScoreFile;
+import entity.Score;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighScoreFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsNamesScoresAndTimestamps() throws IOException {
+        Path file = dir.resolve("highscores.dat");
+        List<Score> scores = List.of(
+                new Score("CHAMP", 15, 1_700_000_000_000L),
+                new Score("Zoë", 12, 1_700_000_000_001L),
+                new Score("CHAMP", 9, 1_700_000_000_002L),
+                new Score("", 0, 0L));
+
+        HighScoreFile.write(file, scores);
+        List<Score> read = HighScoreFile.read(file);
+
+        assertFalse(HighScoreFile.isLegacy(file));
+        assertEquals(scores.size(), read.size());
+        for (int i = 0; i < scores.size(); i++) {
+            assertEquals(scores.get(i).getPlayerName(), read.get(i).getPlayerName());
+            assertEquals(scores.get(i).getFoodsEaten(), read.get(i).getFoodsEaten());
+            assertEquals(scores.get(i).getTimestamp(), read.get(i).getTimestamp());
+        }
+        // header + 4 records + "CHAMP", "Zoë", "" once each
+        assertEquals(24 + 4 * 16 + (2 + 5) + (2 + 4) + 2, Files.size(file));
+    }
+
+    @Test
+    void largeFilesRoundTrip() throws IOException {
+        Path file = dir.resolve("big.dat");
+        List<Score> scores = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) scores.add(new Score("P" + (i % 500), i, i));
+
+        HighScoreFile.write(file, scores);
+        List<Score> read = HighScoreFile.read(file);
+
+        assertEquals(200_000, read.size());
+        assertEquals("P499", read.get(199_999).getPlayerName());
+        assertEquals(199_999, read.get(199_999).getFoodsEaten());
+    }
+
+    @Test
+    void readsOldSerializedFiles() throws IOException {
+        Path file = dir.resolve("highscores.dat");
+        ArrayList<Score> old = new ArrayList<>(List.of(new Score("ACE", 12), new Score("PRO", 9)));
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+            out.writeObject(old);
+        }
+
+        assertTrue(HighScoreFile.isLegacy(file));
+        List<Score> read = HighScoreFile.read(file);
+        assertEquals(2, read.size());
+        assertEquals("ACE", read.get(0).getPlayerName());
+        assertEquals(old.get(0).getTimestamp(), read.get(0).getTimestamp());
+    }
+
+    @Test
+    void oldFilesWithOtherClassesAreRejected() throws IOException {
+        Path file = dir.resolve("highscores.dat");
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+            out.writeObject(new ArrayList<>(List.of(new Date())));
+        }
+
+        assertThrows(IOException.class, () -> HighScoreFile.read(file));
+    }
+
+    @Test
+    void corruptionIsDetected() throws IOException {
+        Path file = dir.resolve("highscores.dat");
+        HighScoreFile.write(file, List.of(new Score("ACE", 12, 1L)));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[24] ^= 1;   // first record's score
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> HighScoreFile.read(file));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> HighScoreFile.read(file));
+    }
+}
@@ -0,0 +1,44 @@
+package engine_test;
+
+import engine.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void percentile_isWithinBucketPrecision() {
+        Histogram h = new Histogram();
+        for (long v = 1; v <= 1000; v++) h.record(v * 1_000_000L);   // 1..1000 ms
+
+        assertEquals(1000, h.count());
+        assertEquals(500e6, h.percentile(50), 500e6 * 0.125);
+        assertEquals(990e6, h.percentile(99), 990e6 * 0.125);
+        assertEquals(1000_000_000L, h.percentile(100));
+        assertEquals(500.5e6, h.mean(), 1);
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        Histogram h = new Histogram();
+        h.record(3);
+        h.record(5);
+        h.record(-4);   // clamped to 0
+
+        assertEquals(0, h.percentile(1));
+        assertEquals(3, h.percentile(50));
+        assertEquals(5, h.max());
+    }
+
+    @Test
+    void reset_clearsEverything() {
+        Histogram h = new Histogram();
+        h.record(42);
+        h.reset();
+
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentile(99));
+        assertEquals(0, h.max());
+    }
+}
@@ -0,0 +1,101 @@
+package engine_test;
+
+import engine.InputManager;
+import entity.Snake.Direction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputManagerTest {
+
+    private static Canvas source;
+
+    @BeforeAll
+    static void headless() {
+        System.setProperty("java.awt.headless", "true");
+        source = new Canvas();
+    }
+
+    @Test
+    void consumeTurn_keepsTwoFastTurnsForSuccessiveSteps() {
+        InputManager input = new InputManager(source);
+        press(input, KeyEvent.VK_UP);
+        press(input, KeyEvent.VK_LEFT);   // both within one move interval: a quick U-turn
+
+        assertEquals(Direction.UP, input.consumeTurn(Direction.RIGHT));
+        assertEquals(Direction.LEFT, input.consumeTurn(Direction.UP));
+        assertNull(input.consumeTurn(Direction.LEFT));
+    }
+
+    @Test
+    void consumeTurn_skipsReversalsAndRepeatsOfTheCurrentDirection() {
+        InputManager input = new InputManager(source);
+        press(input, KeyEvent.VK_LEFT);   // opposite of RIGHT
+        press(input, KeyEvent.VK_RIGHT);  // no turn
+        press(input, KeyEvent.VK_DOWN);
+
+        assertEquals(Direction.DOWN, input.consumeTurn(Direction.RIGHT));
+        assertTrue(input.getLastTurnNanos() > 0);
+    }
+
+    @Test
+    void keyPressed_ignoresAutoRepeatUntilReleased() {
+        InputManager input = new InputManager(source);
+        input.keyPressed(key(KeyEvent.KEY_PRESSED, KeyEvent.VK_UP));
+        input.keyPressed(key(KeyEvent.KEY_PRESSED, KeyEvent.VK_UP));   // held: auto-repeat
+
+        assertEquals(Direction.UP, input.consumeTurn(Direction.RIGHT));
+        assertNull(input.consumeTurn(Direction.LEFT));
+    }
+
+    @Test
+    void pauseAndRestartAreOneShot() {
+        InputManager input = new InputManager(source);
+        press(input, KeyEvent.VK_P);
+        press(input, KeyEvent.VK_R);
+
+        assertTrue(input.consumePauseToggled());
+        assertFalse(input.consumePauseToggled());
+        assertTrue(input.consumeRestartRequested());
+        assertFalse(input.consumeRestartRequested());
+    }
+
+    @Test
+    void turnsArriveInOrderWhilePressedFromAnotherThread() throws InterruptedException {
+        InputManager input = new InputManager(source);
+        int[] keys = { KeyEvent.VK_UP, KeyEvent.VK_LEFT, KeyEvent.VK_DOWN, KeyEvent.VK_RIGHT };
+
+        Thread awt = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) press(input, keys[i & 3]);
+        });
+        awt.start();
+
+        Direction current = Direction.RIGHT;
+        long lastStamp = 0;
+        int turns = 0;
+        while (awt.isAlive()) {
+            Direction next = input.consumeTurn(current);
+            if (next == null) continue;
+            assertNotEquals(current, next);
+            assertTrue(input.getLastTurnNanos() >= lastStamp, "turns out of order");
+            lastStamp = input.getLastTurnNanos();
+            current = next;
+            turns++;
+        }
+        awt.join();
+        assertTrue(turns > 0);
+    }
+
+    private static void press(InputManager input, int code) {
+        input.keyPressed(key(KeyEvent.KEY_PRESSED, code));
+        input.keyReleased(key(KeyEvent.KEY_RELEASED, code));
+    }
+
+    private static KeyEvent key(int id, int code) {
+        return new KeyEvent(source, id, System.currentTimeMillis(), 0, code, KeyEvent.CHAR_UNDEFINED);
+    }
+}
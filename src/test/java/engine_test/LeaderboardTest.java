@@ -0,0 +1,96 @@
+package engine_test;
+
+import engine.Leaderboard;
+import entity.Score;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    void matchesASortedList() {
+        Leaderboard board = new Leaderboard();
+        List<Score> sorted = new ArrayList<>();
+        SplittableRandom rng = new SplittableRandom(7);
+        for (int i = 0; i < 5_000; i++) {
+            // mostly small scores with many ties, a few large ones that make the tree grow
+            int value = rng.nextInt(20) == 0 ? rng.nextInt(5_000) : rng.nextInt(40);
+            Score s = new Score("P" + rng.nextInt(300), value, i);
+            board.add(s);
+            sorted.add(s);
+        }
+        Collections.sort(sorted);   // stable: ties keep insertion order
+
+        assertEquals(sorted.size(), board.size());
+        assertEquals(sorted, board.top(sorted.size()));
+        assertEquals(sorted.subList(0, 10), board.top(10));
+        assertEquals(sorted.subList(1234, 1334), board.range(1234, 100));
+        assertEquals(sorted.subList(4990, 5000), board.range(4990, 100));
+
+        for (int value : new int[]{0, 1, 17, 39, 40, 999, 4_999, 100_000}) {
+            long above = sorted.stream().filter(s -> s.getFoodsEaten() > value).count();
+            long atLeast = sorted.stream().filter(s -> s.getFoodsEaten() >= value).count();
+            assertEquals(above + 1, board.rank(value), "rank of " + value);
+            assertEquals(atLeast, board.countAtLeast(value), "at least " + value);
+        }
+    }
+
+    @Test
+    void pageAroundCentresOnThePlayersBestScore() {
+        Leaderboard board = new Leaderboard();
+        for (int i = 0; i < 100; i++) board.add(new Score("P" + i, i, i));
+        board.add(new Score("P50", 10, 100));   // worse than P50's best: ignored for paging
+
+        assertEquals(49, board.positionOf("P50"));
+        List<Score> page = board.pageAround("P50", 5);
+        assertEquals(List.of(52, 51, 50, 49, 48), page.stream().map(Score::getFoodsEaten).toList());
+
+        // clamped at both ends of the board
+        assertEquals(99, board.pageAround("P99", 5).get(0).getFoodsEaten());
+        assertEquals(5, board.pageAround("P1", 5).size());
+        assertEquals(0, board.pageAround("P0", 5).get(4).getFoodsEaten());
+        assertTrue(board.pageAround("nobody", 5).isEmpty());
+    }
+
+    @Test
+    void equalScoresRankByArrival() {
+        Leaderboard board = new Leaderboard();
+        board.add(new Score("FIRST", 5, 0));
+        board.add(new Score("SECOND", 5, 1));
+        board.add(new Score("TOP", 6, 2));
+
+        assertEquals(List.of("TOP", "FIRST", "SECOND"), board.top(3).stream().map(Score::getPlayerName).toList());
+        assertEquals(2, board.rank(5));
+        assertEquals(2, board.positionOf("SECOND"));
+    }
+
+    @Test
+    void snapshotIgnoresLaterChanges() {
+        Leaderboard board = new Leaderboard();
+        for (int i = 0; i < 10; i++) board.add(new Score("P" + i, i % 3, i));
+        List<Score> before = board.top(board.size());
+
+        Leaderboard.Snapshot snapshot = board.snapshot();
+        for (int i = 0; i < 100; i++) board.add(new Score("LATE", i % 3, 100 + i));   // ties grow the same buckets
+        board.add(new Score("HIGH", 1_000, 200));
+        assertEquals(before, snapshot.toList());
+
+        board.clear();
+        assertEquals(before, snapshot.toList());
+    }
+
+    @Test
+    void rejectsScoresOutOfRange() {
+        Leaderboard board = new Leaderboard();
+        assertThrows(IllegalArgumentException.class, () -> board.add(new Score("X", -1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> board.add(new Score("X", Leaderboard.MAX_SCORE + 1, 0)));
+        board.add(new Score("X", Leaderboard.MAX_SCORE, 0));
+        assertEquals(1, board.rank(Leaderboard.MAX_SCORE));
+    }
+}
@@ -0,0 +1,94 @@
+package engine_test;
+
+import engine.Scheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerTest {
+
+    private static final double FRAME = 1.0 / 60.0;
+
+    @Test
+    void schedule_runsOnceWhenItsDelayHasPassed() {
+        Scheduler timers = new Scheduler(4);
+        int[] runs = {0};
+        timers.schedule(0.3, () -> runs[0]++);
+
+        advance(timers, 0.29);
+        assertEquals(0, runs[0]);
+        advance(timers, 0.05);
+        assertEquals(1, runs[0]);
+        advance(timers, 2.0);
+        assertEquals(1, runs[0]);
+        assertEquals(0, timers.size());
+    }
+
+    @Test
+    void scheduleRepeating_runsEveryPeriodUntilCancelled() {
+        Scheduler timers = new Scheduler(4);
+        int[] runs = {0};
+        long handle = timers.scheduleRepeating(0.5, 0.5, () -> runs[0]++);
+
+        advance(timers, 2.01);
+        assertEquals(4, runs[0]);
+
+        assertTrue(timers.cancel(handle));
+        advance(timers, 2.0);
+        assertEquals(4, runs[0]);
+    }
+
+    @Test
+    void cancel_staleHandleDoesNotTouchTheReusedEntry() {
+        Scheduler timers = new Scheduler(1);
+        int[] runs = {0};
+        long first = timers.schedule(0.1, () -> { });
+        assertTrue(timers.cancel(first));
+
+        timers.schedule(0.1, () -> runs[0]++);   // same entry, new generation
+        assertFalse(timers.cancel(first));
+        assertFalse(timers.isScheduled(first));
+
+        advance(timers, 0.2);
+        assertEquals(1, runs[0]);
+    }
+
+    @Test
+    void tasks_canRescheduleAndClearWhileRunning() {
+        Scheduler timers = new Scheduler(4);
+        List<String> log = new ArrayList<>();
+        timers.schedule(0.1, () -> {
+            log.add("a");
+            timers.schedule(0.1, () -> log.add("b"));
+        });
+        timers.scheduleRepeating(1.0, 0.1, () -> {
+            log.add("c");
+            timers.clear();
+        });
+
+        advance(timers, 2.0);
+        assertEquals(List.of("a", "b", "c"), log);
+        assertEquals(0, timers.size());
+    }
+
+    @Test
+    void tasksFarAheadWaitForTheirTurnOnTheWheel() {
+        Scheduler timers = new Scheduler(4);
+        int[] runs = {0};
+        timers.schedule(5.0, () -> runs[0]++);   // several wheel revolutions out
+
+        advance(timers, 4.9);
+        assertEquals(0, runs[0]);
+        assertEquals(0.1, timers.remaining(timers.schedule(0.1, () -> { })), 1e-9);
+        advance(timers, 0.2);
+        assertEquals(1, runs[0]);
+    }
+
+    private static void advance(Scheduler timers, double seconds) {
+        int frames = (int) Math.round(seconds / FRAME);
+        for (int i = 0; i < frames; i++) timers.advance(FRAME);
+    }
+}
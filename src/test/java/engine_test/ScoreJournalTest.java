@@ -0,0 +1,197 @@
+package engine_test;
+
+import engine.FileManager;
+import engine.HighScoreFile;
+import engine.ScoreJournal;
+import entity.Score;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger snapshots = new AtomicInteger();
+    private final AtomicInteger covered = new AtomicInteger();
+    private ScoreJournal journal;
+
+    // stands in for FileManager: "writes" a snapshot covering everything logged so far
+    private ScoreJournal open(Path file) {
+        journal = new ScoreJournal(file, () -> {
+            snapshots.incrementAndGet();
+            covered.set(journal.lastSequence());
+            return covered.get();
+        });
+        return journal;
+    }
+
+    @Test
+    void appendedScoresAreRecoveredInOrder() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        ScoreJournal j = open(file);
+        assertTrue(j.recover(0).isEmpty());
+        j.append(new Score("ACE", 12, 1));
+        j.append(new Score("Zoë", 3, 2));
+        j.sync();
+
+        List<Score> recovered = new ScoreJournal(file, () -> 0).recover(0);   // as after a crash
+        assertEquals(List.of("ACE", "Zoë"), recovered.stream().map(Score::getPlayerName).toList());
+        assertEquals(12, recovered.get(0).getFoodsEaten());
+        assertEquals(2, recovered.get(1).getTimestamp());
+    }
+
+    @Test
+    void tornTailIsCutOff() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        ScoreJournal j = open(file);
+        j.recover(0);
+        for (int i = 0; i < 3; i++) j.append(new Score("P" + i, i, i));
+        j.sync();
+
+        long size = Files.size(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(size - 3);   // last record only half written
+        }
+
+        List<Score> recovered = new ScoreJournal(file, () -> 0).recover(0);
+        assertEquals(2, recovered.size());
+        assertTrue(Files.size(file) < size - 3, "torn record removed from the file");
+    }
+
+    @Test
+    void corruptRecordEndsRecovery() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        ScoreJournal j = open(file);
+        j.recover(0);
+        for (int i = 0; i < 3; i++) j.append(new Score("P" + i, i, i));
+        j.sync();
+
+        // flip a bit in the second record's score
+        int second = 8 + 22 + 2;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            ch.read(b, second + 8);
+            b.put(0, (byte) (b.get(0) ^ 1)).rewind();
+            ch.write(b, second + 8);
+        }
+
+        assertEquals(1, new ScoreJournal(file, () -> 0).recover(0).size());
+    }
+
+    @Test
+    void compactionEmptiesTheJournalAndRecoverySkipsSnapshottedRecords() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        ScoreJournal j = open(file);
+        j.recover(0);
+        for (int i = 0; i < 10; i++) j.append(new Score("P" + i, i, i));
+        j.compact();
+        j.sync();
+        j.append(new Score("LATE", 99, 11));
+        j.close();   // folds again on close
+
+        assertTrue(snapshots.get() >= 1);
+        assertEquals(8, Files.size(file), "only the header left");
+
+        // a crash between writing the snapshot (covering 1..10) and emptying the journal
+        Path crashed = dir.resolve("crashed.journal");
+        ScoreJournal k = new ScoreJournal(crashed, () -> 0);
+        k.recover(0);
+        for (int i = 1; i <= 11; i++) k.append(new Score("P" + i, i, i));
+        k.sync();
+        List<Score> replay = new ScoreJournal(crashed, () -> 0).recover(10);
+        assertEquals(List.of("P11"), replay.stream().map(Score::getPlayerName).toList());
+    }
+
+    @Test
+    void failedSnapshotKeepsRecordsInTheJournal() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        ScoreJournal j = new ScoreJournal(file, () -> {
+            throw new IOException("disk full");
+        });
+        j.recover(0);
+        for (int i = 0; i < 3; i++) j.append(new Score("P" + i, i, i));
+        j.compact();
+        j.close();
+
+        assertTrue(j.getFailures() >= 1);
+        assertEquals(3, new ScoreJournal(file, () -> 0).recover(0).size(), "journal not emptied");
+    }
+
+    @Test
+    void concurrentAppendsAreAllLogged() throws Exception {
+        Path file = dir.resolve("scores.journal");
+        ScoreJournal j = open(file);
+        j.recover(0);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) j.append(new Score("T" + id, i, i));
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(2000, j.lastSequence());
+
+        // the writer may still be compacting after sync(); stop it before reading the files back
+        j.close();
+        assertTrue(snapshots.get() >= 1);
+        assertEquals(2000, covered.get() + new ScoreJournal(file, () -> 0).recover(covered.get()).size());
+    }
+
+    @Test
+    void fileManagerRecoversSnapshotPlusJournalWithoutDuplicates() throws IOException {
+        Path journalFile = dir.resolve("highscores.journal");
+        FileManager files = new FileManager(dir);
+        int defaults = files.getLeaderboard().size();   // no highscores.dat yet: the demo scores
+
+        // past COMPACT_RECORDS, so some scores go through a snapshot (flush() waits for it)...
+        for (int i = 0; i < 1100; i++) files.addScore("P" + i, i);
+        files.flush();
+        assertTrue(HighScoreFile.journalSequence(dir.resolve("highscores.dat")) > 0, "snapshot written");
+        // ...and these only into the journal
+        for (int i = 1100; i < 1150; i++) files.addScore("P" + i, i);
+        files.flush();
+        List<String> top = names(files.getHighScores());
+
+        // dropped without close(), as in a crash: snapshot + journal replay give the same board
+        FileManager restarted = new FileManager(dir);
+        assertEquals(defaults + 1150, restarted.getLeaderboard().size(), "nothing missing or counted twice");
+        assertEquals(top, names(restarted.getHighScores()));
+
+        // a crash after the next snapshot was written but before the journal was emptied:
+        // the snapshot already holds the journaled scores, replay must skip them
+        Path unfolded = dir.resolve("unfolded.journal");
+        Files.copy(journalFile, unfolded);
+        files.saveHighScores();
+        files.flush();
+        Files.copy(unfolded, journalFile, StandardCopyOption.REPLACE_EXISTING);
+        restarted = new FileManager(dir);
+        assertEquals(defaults + 1150, restarted.getLeaderboard().size(), "journaled scores counted twice");
+        assertEquals(top, names(restarted.getHighScores()));
+
+        restarted.close();   // folds the journal into highscores.dat
+        assertEquals(8, Files.size(journalFile), "only the header left");
+        assertEquals(defaults + 1150, new FileManager(dir).getLeaderboard().size());
+    }
+
+    private static List<String> names(List<Score> scores) {
+        return scores.stream().map(Score::getPlayerName).toList();
+    }
+}
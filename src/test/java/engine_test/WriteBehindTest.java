@@ -0,0 +1,104 @@
+package engine_test;
+
+import engine.WriteBehind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rapidSavesAreCoalescedIntoTheLatestContent() throws IOException {
+        WriteBehind saver = new WriteBehind("test-saver", 200);
+        Path file = dir.resolve("settings.dat");
+        AtomicInteger writes = new AtomicInteger();
+
+        for (int i = 0; i < 100; i++) {
+            String text = "value=" + i;
+            saver.save(file, () -> {
+                writes.incrementAndGet();
+                return utf8(text);
+            });
+        }
+        saver.flush();
+
+        assertEquals("value=99", Files.readString(file));
+        assertTrue(writes.get() <= 2, "wrote " + writes.get() + " times");
+        saver.close();
+    }
+
+    @Test
+    void saveNeverWaitsForTheWrite() throws IOException {
+        WriteBehind saver = new WriteBehind("test-saver", 0);
+        Path file = dir.resolve("scores.dat");
+        CountDownLatch release = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        saver.save(file, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);   // a very slow disk
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return utf8("done");
+        });
+        saver.save(dir.resolve("other.dat"), () -> utf8("x"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        saver.flush();
+        assertEquals("done", Files.readString(file));
+        saver.close();
+    }
+
+    @Test
+    void writesReplaceTheFileAndLeaveNoTempFiles() throws IOException {
+        WriteBehind saver = new WriteBehind("test-saver", 0);
+        Path file = dir.resolve("scores.dat");
+        Files.writeString(file, "old contents that are longer");
+
+        saver.save(file, () -> utf8("new"));
+        saver.close();
+
+        assertEquals("new", Files.readString(file));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void failuresAreCountedAndLaterSavesStillWork() throws IOException {
+        WriteBehind saver = new WriteBehind("test-saver", 0);
+        Path file = dir.resolve("scores.dat");
+
+        saver.save(file, () -> {
+            throw new IOException("disk full");
+        });
+        saver.flush();
+        assertEquals(1, saver.getFailures());
+        assertFalse(Files.exists(file));
+
+        saver.save(file, () -> utf8("ok"));
+        saver.flush();
+        assertEquals("ok", Files.readString(file));
+        saver.close();
+    }
+
+    private static ByteBuffer utf8(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package entity_test;
 
 import entity.Food;
+import entity.FreeCellIndex;
 import entity.Snake;
 import org.junit.jupiter.api.Test;
 
@@ -51,4 +52,65 @@ class FoodTest {
         assertTrue(fx>=0 && fy<r);
         assertFalse(snake.occupies(fx, fy));
     }
+
+    @Test
+    void respawn_findsLastFreeCellAndReportsFullBoard() {
+        /*snake covers all but one cell - food must land there, then board is full*/
+
+        int cols = 4;
+        int rows = 4;
+
+        Snake snake = new Snake(cols, rows);
+        FreeCellIndex free = new FreeCellIndex(null, cols, rows);
+        snake.attach(free);
+
+        // snake sits on (1,1)-(1,3); block everything else except (3,0)
+        for (int x = 0; x < cols; x++)
+            for (int y = 0; y < rows; y++)
+                if (!(x == 3 && y == 0) && !snake.occupies(x, y)) free.block(x, y);
+
+        Food food = new Food();
+        assertTrue(food.respawn(free));
+        assertEquals(3, food.getX());
+        assertEquals(0, food.getY());
+
+        free.block(3, 0);
+        assertTrue(free.isFull());
+        assertFalse(food.respawn(free));
+    }
+
+    @Test
+    void freeCells_followSnakeMoves() {
+        Snake snake = new Snake(6, 6);
+        FreeCellIndex free = new FreeCellIndex(null, 6, 6);
+        snake.attach(free);
+        assertEquals(36 - 3, free.size());
+
+        snake.setDirection(Snake.Direction.RIGHT);
+        snake.move();   // head to (2,3), tail (1,1) released
+
+        assertFalse(free.isFree(2, 3));
+        assertTrue(free.isFree(1, 1));
+        assertEquals(36 - 3, free.size());
+
+        snake.grow();
+        snake.move();   // grown copy keeps the old tail cell taken
+        assertFalse(free.isFree(1, 2));
+        assertEquals(36 - 4, free.size());
+    }
+
+    @Test
+    void respawn_withoutIndexReturnsFalseWhenFull() {
+        boolean[][] walls = new boolean[3][3];
+        for (int x = 0; x < 3; x++)
+            for (int y = 0; y < 3; y++)
+                walls[x][y] = !(x == 1);   // only column 1 is open, and the snake fills it
+
+        Snake snake = new Snake(3, 3);
+        snake.getBody().get(1).set_Position(1, 0);
+        snake.getBody().get(0).set_Position(1, 1);
+        snake.getHead().set_Position(1, 2);
+
+        assertFalse(new Food().respawn(walls, snake, 3, 3));
+    }
 }
\ No newline at end of file
@@ -188,4 +188,86 @@ class SnakeTest {
 
 
 
+    @Test
+    void growPastBufferCapacityKeepsOrder() {
+        // long snake forces the ring buffer to resize several times
+        Snake snake = new Snake();
+        snake.setDirection(Snake.Direction.DOWN);
+        for (int i = 0; i < 40; i++) {
+            snake.move();
+            snake.grow();
+        }
+
+        assertEquals(43, snake.size());
+
+        // head is at the front and every segment touches the next one
+        assertEquals(1, snake.getHead().getX());
+        assertEquals(43, snake.getHead().getY());
+        for (int i = 1; i < snake.size(); i++) {
+            int dist = Math.abs(snake.xAt(i) - snake.xAt(i - 1)) + Math.abs(snake.yAt(i) - snake.yAt(i - 1));
+            assertTrue(dist <= 1, "gap between segment " + (i - 1) + " and " + i);
+        }
+    }
+
+    @Test
+    void moveAfterReverseFollowsOldTail() {
+        Snake snake = new Snake();   // head (1,3), tail (1,1)
+
+        snake.reverse();
+        assertEquals(Snake.Direction.UP, snake.getDirection());
+
+        snake.move();
+        assertEquals(1, snake.getHead().getX());
+        assertEquals(0, snake.getHead().getY());
+
+        // old head dropped off the tail
+        assertFalse(snake.occupies(1, 3));
+        assertEquals(3, snake.size());
+        assertEquals(1, snake.xAt(2));
+        assertEquals(2, snake.yAt(2));
+    }
+
+    @Test
+    void occupancyMatchesSegmentsWhileMoving() {
+        // wander a growing snake around a 12x12 board (flipping now and then) and compare against the segments
+        int cols = 12, rows = 12;
+        Snake snake = new Snake(cols, rows);
+        java.util.Random rng = new java.util.Random(7);
+
+        for (int step = 0; step < 300; step++) {
+            // pick any direction that keeps the head on the board and off the body
+            Snake.Direction safe = null;
+            for (Snake.Direction d : Snake.Direction.values()) {
+                int nx = snake.xAt(0), ny = snake.yAt(0);
+                switch (d) {
+                    case UP: ny--; break;
+                    case DOWN: ny++; break;
+                    case LEFT: nx--; break;
+                    case RIGHT: nx++; break;
+                }
+                boolean tail = nx == snake.xAt(snake.size() - 1) && ny == snake.yAt(snake.size() - 1);
+                if (nx < 0 || ny < 0 || nx >= cols || ny >= rows || (snake.occupies(nx, ny) && !tail)) continue;
+                if (safe == null || rng.nextInt(3) == 0) safe = d;
+            }
+            if (safe == null) break;
+            snake.setDirection(safe);
+            if (snake.getDirection() != safe) continue; // blocked as a U-turn, try again next step
+
+            snake.move();
+            assertFalse(snake.headOverlapsBody(), "self hit at step " + step);
+            if (step % 4 == 0) snake.grow();
+            if (step % 23 == 0) snake.reverse();
+
+            Set<String> cells = new HashSet<>();
+            for (int i = 0; i < snake.size(); i++) cells.add(snake.xAt(i) + "," + snake.yAt(i));
+
+            for (int x = -1; x <= cols; x++) {
+                for (int y = -1; y <= rows; y++) {
+                    assertEquals(cells.contains(x + "," + y), snake.occupies(x, y),
+                            "cell " + x + "," + y + " after step " + step);
+                }
+            }
+        }
+    }
+
 }
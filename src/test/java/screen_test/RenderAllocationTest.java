@@ -0,0 +1,109 @@
+package screen_test;
+
+import engine.Core;
+import engine.FileManager;
+import engine.InputManager;
+import engine.SoundManager;
+import engine.StateMachine;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import screen.GameScreen;
+import screen.HudText;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// counts bytes allocated by the calling thread, so it only sees what rendering itself allocates
+class RenderAllocationTest {
+
+    private static final int WARMUP = 20_000;   // let the JIT settle first
+    private static final int EFFECTS_WARMUP = 5_000;   // full-screen overlay frames are slow; this is enough to compile render()
+    private static final int FRAMES = 1_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void setUp() {
+        System.setProperty("java.awt.headless", "true");
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void hudText_drawsLabelsAndNumbersWithoutAllocating() {
+        HudText text = new HudText(new Font("Dialog", Font.BOLD, 18), Color.GREEN, Color.BLACK).label("Foods: ");
+        Graphics2D g = new BufferedImage(200, 40, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        long bytes = allocatedBy(n -> {
+            int x = text.drawLabel(g, "Foods: ", 4, 24);
+            text.drawNumber(g, n, x, 24);
+        });
+
+        assertTrue(bytes < FRAMES, "allocated " + bytes + " bytes over " + FRAMES + " draws");
+    }
+
+    @Test
+    void gameScreen_rendersFramesWithoutAllocating(@TempDir Path dir) {
+        FileManager files = new FileManager(dir);   // keep the tracked .dat files out of it
+        GameScreen screen = gameScreen(files);
+        Graphics2D g = new BufferedImage(Core.WIDTH, Core.HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        long bytes = allocatedBy(n -> screen.render(g));
+        files.close();
+
+        assertTrue(bytes < FRAMES, "allocated " + bytes + " bytes over " + FRAMES + " frames");
+    }
+
+    @Test
+    void gameScreen_rendersFlipShakeAndGlitchWithoutAllocating(@TempDir Path dir) {
+        FileManager files = new FileManager(dir);
+        GameScreen screen = gameScreen(files);
+        screen.onSnakeFlipped();   // shake, glitch scanlines and the flip message; render() never ends them
+        Graphics2D g = new BufferedImage(Core.WIDTH, Core.HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+        AffineTransform home = new AffineTransform();
+
+        // each real frame gets fresh Graphics; undo the shake offset so it doesn't drift off screen
+        long bytes = allocatedBy(EFFECTS_WARMUP, n -> {
+            g.setTransform(home);
+            screen.render(g);
+        });
+        files.close();
+
+        assertTrue(bytes < FRAMES, "allocated " + bytes + " bytes over " + FRAMES + " frames");
+    }
+
+    private static GameScreen gameScreen(FileManager files) {
+        Core core = new Core(files);
+        GameScreen screen = new GameScreen(core, new StateMachine(), new InputManager(core), files, new SoundManager());
+        screen.onEnter();
+        return screen;
+    }
+
+    private interface Frame {
+        void draw(int n);
+    }
+
+    private static long allocatedBy(Frame frame) {
+        return allocatedBy(WARMUP, frame);
+    }
+
+    private static long allocatedBy(int warmup, Frame frame) {
+        for (int i = 0; i < warmup; i++) frame.draw(i);
+
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < FRAMES; i++) frame.draw(i);
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+}